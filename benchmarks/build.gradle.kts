@@ -0,0 +1,33 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+group = "gg.phast"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+    maven {
+        name = "papermc"
+        url = uri("https://repo.papermc.io/repository/maven-public/")
+    }
+}
+
+dependencies {
+    jmh(project(":"))
+    // only api is needed, server is stubbed by BenchmarkEnvironment
+    jmh("io.papermc.paper:paper-api:1.21.10-R0.1-SNAPSHOT")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
+
+java {
+    toolchain.languageVersion.set(JavaLanguageVersion.of(21))
+}
@@ -0,0 +1,146 @@
+package gg.phast.helios.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.event.Event;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Stubbed server environment, so benchmarks can run on a plain machine without running server.
+ * Only the calls Helios makes on its hot paths are answered, every other call returns default value
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class BenchmarkEnvironment {
+
+    private final static Logger LOGGER = Logger.getLogger("HeliosBenchmarks");
+    private final static Map<Class<?>, Registration> REGISTRATIONS = new ConcurrentHashMap<>();
+    private final static Plugin PLUGIN = stub(Plugin.class, (proxy, method, args) -> switch (method.getName()) {
+        case "getName" -> "HeliosBenchmarks";
+        case "isEnabled" -> true;
+        case "getLogger" -> LOGGER;
+        default -> defaultValue(proxy, method, args);
+    });
+    private final static PluginManager PLUGIN_MANAGER = stub(PluginManager.class, (proxy, method, args) -> {
+        if (method.getName().equals("registerEvent") && args.length == 6) {
+            REGISTRATIONS.put((Class<?>) args[0], new Registration((Listener) args[1], (EventExecutor) args[3]));
+            return null;
+        }
+        return defaultValue(proxy, method, args);
+    });
+    private final static Server SERVER = stub(Server.class, (proxy, method, args) -> switch (method.getName()) {
+        case "getPluginManager" -> PLUGIN_MANAGER;
+        case "getLogger" -> LOGGER;
+        case "getName" -> "HeliosBenchmarks";
+        default -> defaultValue(proxy, method, args);
+    });
+
+    static {
+        try {
+            // Bukkit#setServer prints build information which is not available without server implementation
+            Field server = Bukkit.class.getDeclaredField("server");
+            server.setAccessible(true);
+            if (server.get(null) == null) {
+                server.set(null, SERVER);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Private constructor, this class is not meant to be instantiated
+     * @since 1.0-SNAPSHOT
+     */
+    private BenchmarkEnvironment() {
+    }
+
+    /**
+     * Returns stubbed plugin which owns every scheduled task and registered listener
+     * @return plugin
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull Plugin plugin() {
+        return PLUGIN;
+    }
+
+    /**
+     * Returns listener and executor registered for event class through stubbed plugin manager
+     * @param eventClass event class
+     * @return registration
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull Registration registration(@NotNull Class<? extends Event> eventClass) {
+        Registration registration = REGISTRATIONS.get(eventClass);
+        if (registration == null) {
+            throw new IllegalStateException("No listener registered for " + eventClass.getName());
+        }
+        return registration;
+    }
+
+    /**
+     * Creates stub of interface
+     * @param type interface
+     * @param handler invocation handler
+     * @return stub
+     * @param <T> generic
+     * @since 1.0-SNAPSHOT
+     */
+    private static <T> @NotNull T stub(@NotNull Class<T> type, @NotNull InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(BenchmarkEnvironment.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Answers call which is not stubbed, object methods behave as identity, others return default value of their return type
+     * @param proxy proxy
+     * @param method method
+     * @param args arguments
+     * @return default value
+     * @since 1.0-SNAPSHOT
+     */
+    private static Object defaultValue(Object proxy, @NotNull Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Stub" + proxy.getClass().getInterfaces()[0].getSimpleName();
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (!returnType.isPrimitive() || returnType == void.class) return null;
+        if (returnType == boolean.class) return false;
+        if (returnType == char.class) return '\0';
+        if (returnType == float.class) return 0F;
+        if (returnType == double.class) return 0D;
+        if (returnType == long.class) return 0L;
+        if (returnType == int.class) return 0;
+        if (returnType == short.class) return (short) 0;
+        return (byte) 0;
+    }
+
+    /**
+     * Listener registered through stubbed plugin manager together with its executor
+     *
+     * @param listener listener
+     * @param executor executor calling the listener
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public record Registration(@NotNull Listener listener, @NotNull EventExecutor executor) {
+    }
+}
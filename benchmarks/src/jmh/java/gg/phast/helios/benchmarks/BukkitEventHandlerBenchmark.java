@@ -0,0 +1,117 @@
+package gg.phast.helios.benchmarks;
+
+import gg.phast.helios.events.BukkitEventHandler;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatch of single event through {@link BukkitEventHandler},
+ * from the executor registered in plugin manager to the consumer,
+ * and registering together with un-registering of short-lived handler
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BukkitEventHandlerBenchmark {
+
+    private BenchmarkEnvironment.Registration registration;
+    private BenchmarkEnvironment.Registration directRegistration;
+    private BenchmarkEvent event;
+    private DirectBenchmarkEvent directEvent;
+    private long handled;
+
+    /**
+     * Registers handlers through stubbed plugin manager and captures their executors
+     * @since 1.0-SNAPSHOT
+     */
+    @Setup
+    public void setup() {
+        BukkitEventHandler.builder(BenchmarkEvent.class, context -> handled++)
+                .plugin(BenchmarkEnvironment.plugin())
+                .listen();
+
+        BukkitEventHandler.builder(DirectBenchmarkEvent.class, (handler, event) -> handled++)
+                .plugin(BenchmarkEnvironment.plugin())
+                .listen();
+
+        registration = BenchmarkEnvironment.registration(BenchmarkEvent.class);
+        directRegistration = BenchmarkEnvironment.registration(DirectBenchmarkEvent.class);
+        event = new BenchmarkEvent();
+        directEvent = new DirectBenchmarkEvent();
+    }
+
+    @Benchmark
+    public long dispatch() throws EventException {
+        registration.executor().execute(registration.listener(), event);
+        return handled;
+    }
+
+    @Benchmark
+    public long dispatchDirect() throws EventException {
+        directRegistration.executor().execute(directRegistration.listener(), directEvent);
+        return handled;
+    }
+
+    @Benchmark
+    public BukkitEventHandler<BenchmarkEvent> listenAndUnregister() {
+        BukkitEventHandler<BenchmarkEvent> handler = BukkitEventHandler.builder(BenchmarkEvent.class, (h, e) -> handled++)
+                .plugin(BenchmarkEnvironment.plugin())
+                .listen();
+        handler.unregister();
+        return handler;
+    }
+
+    /**
+     * Event without any data, used only for dispatching
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static final class BenchmarkEvent extends Event {
+
+        private final static HandlerList HANDLERS = new HandlerList();
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    /**
+     * Event without any data, handled by listener receiving the event directly
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static final class DirectBenchmarkEvent extends Event {
+
+        private final static HandlerList HANDLERS = new HandlerList();
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package gg.phast.helios.benchmarks;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Scheduler handler running the first run of every task inline on the calling thread,
+ * so builder-to-schedule cost can be measured without platform scheduler
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class InlineSchedulerHandler extends TaskSchedulerHandler {
+
+    /**
+     * Schedules consumer and runs it right away, delay is ignored
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        BenchmarkTask task = new BenchmarkTask(eventHandler);
+        execute(task, consumer, eventHandler, delay, period);
+
+        return task;
+    }
+
+    /**
+     * Task without platform task behind it
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static final class BenchmarkTask extends HeliosTask {
+
+        /**
+         * Constructor
+         * @param eventHandler event handler
+         * @since 1.0-SNAPSHOT
+         */
+        public BenchmarkTask(TaskEventHandler eventHandler) {
+            super(eventHandler);
+        }
+
+        /**
+         * Nothing to cancel, task has no platform task
+         * @since 1.0-SNAPSHOT
+         */
+        @Override
+        protected void cancelPlatformTask() {
+        }
+    }
+}
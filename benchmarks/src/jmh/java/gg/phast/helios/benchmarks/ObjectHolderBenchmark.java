@@ -0,0 +1,79 @@
+package gg.phast.helios.benchmarks;
+
+import gg.phast.helios.java.holders.ObjectHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ObjectHolder} get and set, uncontended and with readers and writers competing for the lock
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObjectHolderBenchmark {
+
+    private ObjectHolder<Integer> holder;
+    private Integer value;
+
+    /**
+     * Creates holder
+     * @since 1.0-SNAPSHOT
+     */
+    @Setup
+    public void setup() {
+        value = 1_000;
+        holder = new ObjectHolder<>(value);
+    }
+
+    @Benchmark
+    @Group("uncontendedGet")
+    public Integer uncontendedGet() {
+        return holder.get();
+    }
+
+    @Benchmark
+    @Group("uncontendedSet")
+    public void uncontendedSet() {
+        holder.set(value);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public Integer readHeavyGet() {
+        return holder.get();
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public void readHeavySet() {
+        holder.set(value);
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public Integer writeHeavyGet() {
+        return holder.get();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public void writeHeavySet() {
+        holder.set(value);
+    }
+}
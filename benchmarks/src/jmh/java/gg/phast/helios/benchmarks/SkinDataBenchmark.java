@@ -0,0 +1,60 @@
+package gg.phast.helios.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import gg.phast.helios.mojang.textures.SkinData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SkinData#of(JsonObject)}, alone and together with parsing the raw property json
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SkinDataBenchmark {
+
+    private JsonObject jsonObject;
+    private String json;
+
+    /**
+     * Creates texture property with sizes matching real mojang responses
+     * @since 1.0-SNAPSHOT
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42L);
+        byte[] texture = new byte[300];
+        byte[] signature = new byte[512];
+        random.nextBytes(texture);
+        random.nextBytes(signature);
+
+        jsonObject = new JsonObject();
+        jsonObject.addProperty("name", "textures");
+        jsonObject.addProperty("value", Base64.getEncoder().encodeToString(texture));
+        jsonObject.addProperty("signature", Base64.getEncoder().encodeToString(signature));
+        json = jsonObject.toString();
+    }
+
+    @Benchmark
+    public SkinData of() {
+        return SkinData.of(jsonObject);
+    }
+
+    @Benchmark
+    public SkinData parseAndOf() {
+        return SkinData.of(JsonParser.parseString(json).getAsJsonObject());
+    }
+}
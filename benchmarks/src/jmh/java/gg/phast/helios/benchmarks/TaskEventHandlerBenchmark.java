@@ -0,0 +1,104 @@
+package gg.phast.helios.benchmarks;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventCallData;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures {@link TaskEventHandler#triggerEvent(HeliosTask, TaskEventType, Object)}
+ * with different amount of listeners, with and without event data,
+ * baseline variants copy the previous dispatch (map lookup, call data per trigger, forEach lambda)
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskEventHandlerBenchmark {
+
+    @Param({"0", "1", "4"})
+    public int listeners;
+
+    private TaskEventHandler eventHandler;
+    private Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> baselineMap;
+    private HeliosTask task;
+    private Exception exception;
+    private Blackhole blackhole;
+
+    /**
+     * Creates event handler with listeners on every event type
+     * @param blackhole blackhole consuming call data
+     * @since 1.0-SNAPSHOT
+     */
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+
+        Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> map = new HashMap<>();
+        for (TaskEventType<?> eventType : List.of(TaskEventType.FINISH, TaskEventType.CANCEL, TaskEventType.EXCEPTION, TaskEventType.RETIRED)) {
+            List<Consumer<TaskEventCallData<?>>> consumers = new ArrayList<>();
+            for (int i = 0; i < listeners; i++) {
+                consumers.add(data -> this.blackhole.consume(data));
+            }
+            map.put(eventType, consumers);
+        }
+
+        baselineMap = map;
+        eventHandler = listeners == 0 ? TaskEventHandler.empty() : new TaskEventHandler(map);
+        task = new InlineSchedulerHandler.BenchmarkTask(eventHandler);
+        exception = new IllegalStateException("benchmark");
+    }
+
+    @Benchmark
+    public void triggerWithoutData() {
+        eventHandler.triggerEvent(task, TaskEventType.FINISH, null);
+    }
+
+    @Benchmark
+    public void triggerWithData() {
+        eventHandler.triggerEvent(task, TaskEventType.EXCEPTION, exception);
+    }
+
+    @Benchmark
+    public void baselineTriggerWithoutData() {
+        baselineTrigger(task, TaskEventType.FINISH, null);
+    }
+
+    @Benchmark
+    public void baselineTriggerWithData() {
+        baselineTrigger(task, TaskEventType.EXCEPTION, exception);
+    }
+
+    /**
+     * Copy of the dispatch before listeners were compiled into arrays
+     * @param task task
+     * @param eventType event type
+     * @param data data of the event
+     * @param <T> generic
+     * @since 1.0-SNAPSHOT
+     */
+    private <T> void baselineTrigger(@NotNull HeliosTask task, @NotNull TaskEventType<T> eventType, @Nullable T data) {
+        TaskEventCallData<T> callData = new TaskEventCallData<>(task, data);
+        baselineMap.get(eventType).forEach(caller -> caller.accept(callData));
+    }
+}
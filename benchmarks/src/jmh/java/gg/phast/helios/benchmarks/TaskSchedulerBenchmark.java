@@ -0,0 +1,121 @@
+package gg.phast.helios.benchmarks;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.TaskTemplate;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures cost of going from builder to scheduled (and once executed) task for every task scheduler,
+ * tasks run inline through {@link InlineSchedulerHandler}, so the numbers contain only Helios overhead
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSchedulerBenchmark {
+
+    private final static Consumer<HeliosTask> NOOP = task -> { };
+
+    private TaskScheduleContext context;
+    private List<Consumer<HeliosTask>> batch;
+    private TaskTemplate instantWithListenerTemplate;
+    private final List<HeliosTask> repeatingTasks = new ArrayList<>();
+    private long finished;
+
+    /**
+     * Creates context, batch consumers and templates
+     * @since 1.0-SNAPSHOT
+     */
+    @Setup
+    public void setup() {
+        context = TaskScheduleContext.builder()
+                .plugin(BenchmarkEnvironment.plugin())
+                .setSchedulerHandler(new InlineSchedulerHandler())
+                .build();
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            batch.add(NOOP);
+        }
+
+        instantWithListenerTemplate = HeliosTask.instantTaskScheduler()
+                .execute(NOOP)
+                .onEventContext(TaskEventType.FINISH, data -> finished++)
+                .toTemplate();
+    }
+
+    @Benchmark
+    public HeliosTask instant() {
+        return HeliosTask.instantTaskScheduler()
+                .execute(NOOP)
+                .schedule(context);
+    }
+
+    @Benchmark
+    public HeliosTask instantWithListener() {
+        return HeliosTask.instantTaskScheduler()
+                .execute(NOOP)
+                .onEventContext(TaskEventType.FINISH, data -> finished++)
+                .schedule(context);
+    }
+
+    @Benchmark
+    public HeliosTask instantWithListenerFromTemplate() {
+        return instantWithListenerTemplate.schedule(context);
+    }
+
+    @Benchmark
+    public HeliosTask delayed() {
+        return HeliosTask.delayedTaskScheduler()
+                .delay(20)
+                .execute(NOOP)
+                .schedule(context);
+    }
+
+    /**
+     * Cancels repeating tasks scheduled during the iteration, they never finish on their own,
+     * so they would pile up in the task registry
+     * @since 1.0-SNAPSHOT
+     */
+    @TearDown(Level.Iteration)
+    public void cancelRepeating() {
+        for (HeliosTask task : repeatingTasks) {
+            task.cancel();
+        }
+        repeatingTasks.clear();
+    }
+
+    @Benchmark
+    public HeliosTask repeating() {
+        HeliosTask task = HeliosTask.repeatingTaskScheduler()
+                .period(20L)
+                .execute(NOOP)
+                .schedule(context);
+        repeatingTasks.add(task);
+        return task;
+    }
+
+    @Benchmark
+    public HeliosTask batch() {
+        return HeliosTask.batchTaskScheduler()
+                .executeAll(batch)
+                .schedule(context);
+    }
+}
@@ -37,16 +37,16 @@ import java.util.logging.Logger;
  */
 public final class Helios {
 
-    private final static JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(Helios.class);
     private final static HeliosLogger LOGGER = new HeliosLogger();
 
     /**
-     * Plugin which is using this API
+     * Plugin which is using this API, resolved on first call,
+     * so the API can be used without plugin (e.g. with {@link gg.phast.helios.scheduling.clock.VirtualClock})
      * @return plugin
      * @since 1.0-SNAPSHOT
      */
     public static JavaPlugin getPlugin() {
-        return PLUGIN;
+        return PluginHolder.PLUGIN;
     }
 
     /**
@@ -56,4 +56,23 @@ public final class Helios {
     public static Logger getLogger() {
         return LOGGER;
     }
+
+    /**
+     * Platform which the server is running on
+     * @return platform
+     * @since 1.0-SNAPSHOT
+     */
+    public static HeliosPlatform getPlatform() {
+        return HeliosPlatform.current();
+    }
+
+    /**
+     * Holder of the plugin, initialized on first access
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    private final static class PluginHolder {
+        private final static JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(Helios.class);
+    }
 }
@@ -0,0 +1,78 @@
+package gg.phast.helios;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Server platform which Helios is running on, detected once when first accessed,
+ * used for picking the best backing implementation of scheduling (and other) APIs
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public enum HeliosPlatform {
+
+    /**
+     * Folia, regionized multithreading, there is no main thread
+     */
+    FOLIA,
+    /**
+     * Paper (or its fork), provides region, entity and async schedulers running on the main thread
+     */
+    PAPER,
+    /**
+     * Plain Bukkit (e.g. Spigot), only bukkit scheduler is available
+     */
+    BUKKIT;
+
+    private final static HeliosPlatform CURRENT = detect();
+
+    /**
+     * Returns platform the server is running on
+     * @return current platform
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull HeliosPlatform current() {
+        return CURRENT;
+    }
+
+    /**
+     * Returns whether server supports regionized multithreading
+     * @return whether server is Folia
+     * @since 1.0-SNAPSHOT
+     */
+    public static boolean isFolia() {
+        return CURRENT == FOLIA;
+    }
+
+    /**
+     * Detects the platform by looking up classes specific for each platform
+     * @return detected platform
+     * @since 1.0-SNAPSHOT
+     */
+    private static @NotNull HeliosPlatform detect() {
+        if (classExists("io.papermc.paper.threadedregions.RegionizedServer")) {
+            return FOLIA;
+        }
+
+        if (classExists("io.papermc.paper.threadedregions.scheduler.RegionScheduler")) {
+            return PAPER;
+        }
+
+        return BUKKIT;
+    }
+
+    /**
+     * Checks whether class exists without initializing it
+     * @param name fully qualified class name
+     * @return whether class exists
+     * @since 1.0-SNAPSHOT
+     */
+    private static boolean classExists(@NotNull String name) {
+        try {
+            Class.forName(name, false, HeliosPlatform.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+}
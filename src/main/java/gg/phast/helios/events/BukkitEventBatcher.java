@@ -0,0 +1,396 @@
+package gg.phast.helios.events;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.Helios;
+import gg.phast.helios.HeliosPlatform;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.region.RegionKey;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Tick-batched event pipeline, snapshot of every event is appended into buffer of the current tick
+ * and the whole batch is handed to the consumer once per tick, on Folia every region has its own buffer
+ * (see {@link RegionKey}), which is flushed by the region, events without location go to the global region.
+ * <p>
+ * Buffer is bounded, snapshots which do not fit are dropped and their count is reported once per batch,
+ * batch is consumed on the thread which flushed it, or offloaded into another context (e.g. ASYNC),
+ * to create new batcher, use {@link BukkitEventHandler#batchBuilder(Class, Function)}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ * @param <T> specific event
+ * @param <S> snapshot of the event
+ */
+public final class BukkitEventBatcher<T extends Event, S> {
+
+    private final static Object GLOBAL = new Object();
+
+    private final Map<Object, Buffer> buffers = new ConcurrentHashMap<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final Function<? super T, ? extends S> snapshot;
+    private final Consumer<List<S>> consumer;
+    private final int capacity;
+    private final TaskScheduleContext offloadContext;
+    private final IntConsumer overflowListener;
+    private final boolean regionized;
+    private final BukkitEventHandler<T> handler;
+
+    /**
+     * Constructor, to create new batcher, use builder {@link BukkitEventHandler#batchBuilder(Class, Function)}
+     * @param builder builder with settings of the batcher
+     * @param consumer consumer of batches
+     * @since 1.0-SNAPSHOT
+     */
+    private BukkitEventBatcher(@NotNull Builder<T, S> builder, @NotNull Consumer<List<S>> consumer) {
+        this.snapshot = builder.snapshot;
+        this.consumer = consumer;
+        this.capacity = builder.capacity;
+        this.offloadContext = builder.offloadContext;
+        this.overflowListener = builder.overflowListener;
+        this.regionized = HeliosPlatform.isFolia();
+
+        BukkitEventHandler.Builder<T> handlerBuilder = BukkitEventHandler.builder(builder.eventClass, (handler, event) -> append(event))
+                .priority(builder.eventPriority)
+                .ignoreCancelled(builder.ignoreCancelled);
+        if (builder.plugin != null) {
+            handlerBuilder.plugin(builder.plugin);
+        }
+        this.handler = handlerBuilder.listen();
+    }
+
+    /**
+     * Appends snapshot of the event into buffer of the current tick
+     * @param event event
+     * @since 1.0-SNAPSHOT
+     */
+    private void append(@NotNull T event) {
+        S value = snapshot.apply(event);
+        Location location = regionized ? locationOf(event) : null;
+        Object key = location != null ? RegionKey.of(location) : GLOBAL;
+
+        while (true) {
+            Buffer buffer = buffers.get(key);
+            if (buffer == null) {
+                Buffer created = new Buffer(key);
+                buffer = buffers.putIfAbsent(key, created);
+                if (buffer == null) {
+                    created.add(value);
+                    try {
+                        schedule(created, location);
+                    } catch (RuntimeException exception) {
+                        // buffer without flush would take snapshots of this region forever
+                        buffers.remove(key, created);
+                        created.discard();
+                        throw exception;
+                    }
+                    return;
+                }
+            }
+
+            if (buffer.add(value)) return;
+        }
+    }
+
+    /**
+     * Schedules flush of the buffer on the next tick, on region of the location (or global region)
+     * @param buffer buffer
+     * @param location location within region, null for global region
+     * @since 1.0-SNAPSHOT
+     */
+    private void schedule(@NotNull Buffer buffer, @Nullable Location location) {
+        TaskScheduleContext context = location != null
+                ? TaskScheduleContext.builder().setSchedulerHandler(TaskSchedulerHandler.Type.REGION, location).build()
+                : TaskScheduleContext.of(TaskSchedulerHandler.Type.SYNC);
+
+        context.getSchedulerHandler().schedule(handler.getPlugin(), buffer, TaskEventHandler.empty(), 0L, -1L);
+    }
+
+    /**
+     * Hands over the batch and reports overflow
+     * @param batch batch
+     * @param dropped amount of snapshots dropped because the buffer was full
+     * @since 1.0-SNAPSHOT
+     */
+    private void deliver(@NotNull List<S> batch, int dropped) {
+        if (dropped > 0) {
+            overflowed.add(dropped);
+            if (overflowListener != null) {
+                overflowListener.accept(dropped);
+            } else {
+                Helios.getLogger().warning("Event batch of " + handler.getEventClass().getSimpleName() + " overflowed, dropped " + dropped + " events!");
+            }
+        }
+
+        if (batch.isEmpty()) return;
+
+        batches.increment();
+        if (offloadContext == null) {
+            consumer.accept(batch);
+            return;
+        }
+
+        offloadContext.getSchedulerHandler().schedule(handler.getPlugin(), task -> consumer.accept(batch), TaskEventHandler.empty(), 0L, -1L);
+    }
+
+    /**
+     * Returns location deciding region of the event
+     * @param event event
+     * @return location, null if event does not have location
+     * @since 1.0-SNAPSHOT
+     */
+    private static @Nullable Location locationOf(@NotNull Event event) {
+        if (event instanceof BlockEvent blockEvent) return blockEvent.getBlock().getLocation();
+
+        Entity entity = null;
+        if (event instanceof PlayerEvent playerEvent) {
+            entity = playerEvent.getPlayer();
+        } else if (event instanceof EntityEvent entityEvent) {
+            entity = entityEvent.getEntity();
+        }
+        return entity != null ? entity.getLocation() : null;
+    }
+
+    /**
+     * Returns handler which collects the events
+     * @return handler
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull BukkitEventHandler<T> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns amount of batches handed over to the consumer
+     * @return amount of batches
+     * @since 1.0-SNAPSHOT
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns amount of events dropped because the buffer was full
+     * @return amount of dropped events
+     * @since 1.0-SNAPSHOT
+     */
+    public long getOverflowed() {
+        return overflowed.sum();
+    }
+
+    /**
+     * Stops collecting events, batches already collected are still handed over
+     * @since 1.0-SNAPSHOT
+     */
+    public void unregister() {
+        handler.unregister();
+    }
+
+    /**
+     * Buffer of single tick (and region), which is also its flush task,
+     * snapshots appended after the flush started go to a fresh buffer, so nothing is lost
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    private final class Buffer implements Consumer<HeliosTask> {
+
+        private final Object key;
+        private List<S> values = new ArrayList<>();
+        private int dropped;
+        private boolean closed;
+
+        /**
+         * Constructor
+         * @param key key of the buffer
+         * @since 1.0-SNAPSHOT
+         */
+        private Buffer(@NotNull Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Appends snapshot, if the buffer is full, snapshot is dropped and counted
+         * @param value snapshot
+         * @return whether the snapshot was taken by this buffer, false if the buffer was already flushed
+         * @since 1.0-SNAPSHOT
+         */
+        private synchronized boolean add(S value) {
+            if (closed) return false;
+
+            if (values.size() >= capacity) {
+                dropped++;
+            } else {
+                values.add(value);
+            }
+            return true;
+        }
+
+        /**
+         * Closes the buffer without delivering its batch, used when its flush could not be scheduled
+         * @since 1.0-SNAPSHOT
+         */
+        private synchronized void discard() {
+            closed = true;
+            values = null;
+        }
+
+        /**
+         * Closes the buffer and delivers its batch
+         * @param task flush task
+         * @since 1.0-SNAPSHOT
+         */
+        @Override
+        public void accept(@NotNull HeliosTask task) {
+            buffers.remove(key, this);
+
+            List<S> batch;
+            int dropped;
+            synchronized (this) {
+                closed = true;
+                batch = values;
+                dropped = this.dropped;
+                values = null;
+            }
+
+            deliver(batch, dropped);
+        }
+    }
+
+    /**
+     * Builder which helps us create the batcher
+     * @since 1.0-SNAPSHOT
+     * @param <T> specific event
+     * @param <S> snapshot of the event
+     */
+    public static class Builder<T extends Event, S> {
+
+        private final Class<T> eventClass;
+        private final Function<? super T, ? extends S> snapshot;
+        private EventPriority eventPriority = EventPriority.NORMAL;
+        private boolean ignoreCancelled = false;
+        private Plugin plugin;
+        private int capacity = 4096;
+        private TaskScheduleContext offloadContext;
+        private IntConsumer overflowListener;
+
+        /**
+         * Constructor, creates new builder with required parameters, others are optional
+         * @since 1.0-SNAPSHOT
+         * @param eventClass event class
+         * @param snapshot function taking snapshot of the event, called on the thread of the event
+         */
+        protected Builder(final @NotNull Class<T> eventClass, final @NotNull Function<? super T, ? extends S> snapshot) {
+            this.eventClass = eventClass;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Specifies priority of handling event, see {@link BukkitEventHandler.Builder#priority(EventPriority)}
+         * @since 1.0-SNAPSHOT
+         * @param eventPriority event priority (Default: NORMAL)
+         * @return builder instance
+         */
+        public Builder<T, S> priority(final @NotNull EventPriority eventPriority) {
+            Objects.requireNonNull(eventPriority, "eventPriority");
+            this.eventPriority = eventPriority;
+            return this;
+        }
+
+        /**
+         * Specifies whether event is collected even after being cancelled
+         * @since 1.0-SNAPSHOT
+         * @param ignoreCancelled whether to collect cancelled event
+         * @return builder instance
+         */
+        public Builder<T, S> ignoreCancelled(final boolean ignoreCancelled) {
+            this.ignoreCancelled = ignoreCancelled;
+            return this;
+        }
+
+        /**
+         * Specifies plugin which the listener and flush tasks are registered for
+         * @since 1.0-SNAPSHOT
+         * @param plugin plugin (Default: {@link Helios#getPlugin()})
+         * @return builder instance
+         */
+        public Builder<T, S> plugin(final @NotNull Plugin plugin) {
+            Objects.requireNonNull(plugin, "plugin");
+            this.plugin = plugin;
+            return this;
+        }
+
+        /**
+         * Specifies maximum amount of snapshots in single batch (per region on Folia),
+         * snapshots over the capacity are dropped and reported
+         * @since 1.0-SNAPSHOT
+         * @param capacity capacity (Default: 4096, must be greater than 0)
+         * @return builder instance
+         */
+        public Builder<T, S> capacity(final int capacity) {
+            Preconditions.checkArgument(capacity > 0, "capacity must be greater than 0");
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Offloads consuming of batches into another context (e.g. {@link TaskSchedulerHandler.Type#ASYNC}),
+         * by default batch is consumed on the thread which flushed it
+         * @since 1.0-SNAPSHOT
+         * @param context context
+         * @return builder instance
+         */
+        public Builder<T, S> offload(final @NotNull TaskScheduleContext context) {
+            Objects.requireNonNull(context, "context");
+            this.offloadContext = context;
+            return this;
+        }
+
+        /**
+         * Specifies listener of overflow, called once per batch with amount of dropped snapshots,
+         * by default overflow is logged as warning
+         * @since 1.0-SNAPSHOT
+         * @param overflowListener overflow listener
+         * @return builder instance
+         */
+        public Builder<T, S> onOverflow(final @NotNull IntConsumer overflowListener) {
+            Objects.requireNonNull(overflowListener, "overflowListener");
+            this.overflowListener = overflowListener;
+            return this;
+        }
+
+        /**
+         * Creates new batcher and registers its handler,
+         * it is important to call this method otherwise, nothing will be registered!
+         * @since 1.0-SNAPSHOT
+         * @param consumer consumer of batches, the list is handed over and not used by Helios afterwards
+         * @return new batcher
+         */
+        public BukkitEventBatcher<T, S> listen(final @NotNull Consumer<List<S>> consumer) {
+            Objects.requireNonNull(consumer, "consumer");
+            return new BukkitEventBatcher<>(this, consumer);
+        }
+    }
+}
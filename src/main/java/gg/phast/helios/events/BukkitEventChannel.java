@@ -0,0 +1,335 @@
+package gg.phast.helios.events;
+
+import gg.phast.helios.Helios;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.world.WorldEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Single Bukkit registration shared by all handlers of the same event class, priority, ignoreCancelled flag and plugin,
+ * handlers are kept in copy-on-write array, so subscribing and unsubscribing handler never touches Bukkit's
+ * handler list (and never forces it to be rebaked) once the channel is registered.
+ * <p>
+ * Channel is registered with Bukkit when its first handler subscribes and stays registered until its plugin
+ * is disabled, empty channel costs only a check of empty array per event.
+ * <p>
+ * Handlers bound to entity or world are kept in hash indexes by unique id of the target, so event is passed
+ * only to unbound handlers and handlers bound to its entity or world, unbound handlers are called first
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+final class BukkitEventChannel implements Listener, EventExecutor {
+
+    private final static BukkitEventHandler<?>[] NO_HANDLERS = new BukkitEventHandler<?>[0];
+    private final static Map<Key, BukkitEventChannel> CHANNELS = new ConcurrentHashMap<>();
+    private final static Set<Plugin> WATCHED_PLUGINS = ConcurrentHashMap.newKeySet();
+
+    private final Key key;
+    private final Map<UUID, BukkitEventHandler<?>[]> entityHandlers = new ConcurrentHashMap<>();
+    private final Map<UUID, BukkitEventHandler<?>[]> worldHandlers = new ConcurrentHashMap<>();
+    private volatile BukkitEventHandler<?>[] handlers = NO_HANDLERS;
+    private boolean registered;
+    private boolean closed;
+
+    /**
+     * Constructor
+     * @param key key
+     * @since 1.0-SNAPSHOT
+     */
+    private BukkitEventChannel(@NotNull Key key) {
+        this.key = key;
+    }
+
+    /**
+     * Subscribes handler to the channel of its settings, registering the channel with Bukkit if it is new
+     * @param handler handler
+     * @since 1.0-SNAPSHOT
+     */
+    static void subscribe(@NotNull BukkitEventHandler<?> handler) {
+        Key key = new Key(handler.getEventClass(), handler.getEventPriority(), handler.isIgnoreCancelled(), handler.getPlugin());
+
+        while (true) {
+            BukkitEventChannel channel = CHANNELS.computeIfAbsent(key, BukkitEventChannel::new);
+            if (channel.add(handler)) return;
+
+            // plugin was disabled meanwhile, the channel is dead
+            CHANNELS.remove(key, channel);
+        }
+    }
+
+    /**
+     * Unsubscribes handler from the channel of its settings
+     * @param handler handler
+     * @since 1.0-SNAPSHOT
+     */
+    static void unsubscribe(@NotNull BukkitEventHandler<?> handler) {
+        Key key = new Key(handler.getEventClass(), handler.getEventPriority(), handler.isIgnoreCancelled(), handler.getPlugin());
+
+        BukkitEventChannel channel = CHANNELS.get(key);
+        if (channel != null) {
+            channel.remove(handler);
+        }
+    }
+
+    /**
+     * Adds handler, registering the channel with Bukkit on the first add
+     * @param handler handler
+     * @return whether handler was added (or was already present), false if the channel is closed
+     * @since 1.0-SNAPSHOT
+     */
+    private synchronized boolean add(@NotNull BukkitEventHandler<?> handler) {
+        if (closed) return false;
+
+        if (!registered) {
+            // registration throws if the plugin is not enabled, the channel stays unregistered and the next add retries
+            watch(key.plugin());
+            Bukkit.getPluginManager().registerEvent(key.eventClass(), this, key.eventPriority(), this, key.plugin(), key.ignoreCancelled());
+            registered = true;
+        }
+
+        UUID boundEntity = handler.getBoundEntity();
+        UUID boundWorld = handler.getBoundWorld();
+        if (boundEntity != null) {
+            entityHandlers.put(boundEntity, with(entityHandlers.getOrDefault(boundEntity, NO_HANDLERS), handler));
+        } else if (boundWorld != null) {
+            worldHandlers.put(boundWorld, with(worldHandlers.getOrDefault(boundWorld, NO_HANDLERS), handler));
+        } else {
+            handlers = with(handlers, handler);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes handler
+     * @param handler handler
+     * @since 1.0-SNAPSHOT
+     */
+    private synchronized void remove(@NotNull BukkitEventHandler<?> handler) {
+        UUID boundEntity = handler.getBoundEntity();
+        UUID boundWorld = handler.getBoundWorld();
+        if (boundEntity != null) {
+            without(entityHandlers, boundEntity, handler);
+        } else if (boundWorld != null) {
+            without(worldHandlers, boundWorld, handler);
+        } else {
+            handlers = without(handlers, handler);
+        }
+    }
+
+    /**
+     * Removes handler from indexed array, drops the index entry once it is empty
+     * @param index index
+     * @param target unique id of target
+     * @param handler handler
+     * @since 1.0-SNAPSHOT
+     */
+    private static void without(@NotNull Map<UUID, BukkitEventHandler<?>[]> index, @NotNull UUID target, @NotNull BukkitEventHandler<?> handler) {
+        BukkitEventHandler<?>[] current = index.get(target);
+        if (current == null) return;
+
+        BukkitEventHandler<?>[] updated = without(current, handler);
+        if (updated.length == 0) {
+            index.remove(target);
+        } else if (updated != current) {
+            index.put(target, updated);
+        }
+    }
+
+    /**
+     * Returns copy of array with handler appended, or the same array if handler is already present
+     * @param current current array
+     * @param handler handler
+     * @return array with handler
+     * @since 1.0-SNAPSHOT
+     */
+    private static BukkitEventHandler<?>[] with(@NotNull BukkitEventHandler<?>[] current, @NotNull BukkitEventHandler<?> handler) {
+        for (BukkitEventHandler<?> present : current) {
+            if (present == handler) return current;
+        }
+
+        BukkitEventHandler<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = handler;
+        return updated;
+    }
+
+    /**
+     * Returns copy of array without handler, or the same array if handler is not present
+     * @param current current array
+     * @param handler handler
+     * @return array without handler
+     * @since 1.0-SNAPSHOT
+     */
+    private static BukkitEventHandler<?>[] without(@NotNull BukkitEventHandler<?>[] current, @NotNull BukkitEventHandler<?> handler) {
+        for (int index = 0; index < current.length; index++) {
+            if (current[index] != handler) continue;
+            if (current.length == 1) return NO_HANDLERS;
+
+            BukkitEventHandler<?>[] updated = new BukkitEventHandler<?>[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            return updated;
+        }
+        return current;
+    }
+
+    /**
+     * Passes the event to every subscribed handler, failure of one handler does not affect the others
+     * @param listener this channel
+     * @param event event
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public void execute(@NotNull Listener listener, @NotNull Event event) {
+        // handlers of subclasses of the event share its handler list,
+        // exact class is the common case, isInstance is needed only for subclasses
+        Class<? extends Event> eventClass = key.eventClass();
+        if (event.getClass() != eventClass && !eventClass.isInstance(event)) return;
+
+        dispatch(handlers, event);
+
+        if (!entityHandlers.isEmpty()) {
+            UUID entity = entityOf(event);
+            if (entity != null) {
+                BukkitEventHandler<?>[] bound = entityHandlers.get(entity);
+                if (bound != null) dispatch(bound, event);
+            }
+        }
+
+        if (!worldHandlers.isEmpty()) {
+            UUID world = worldOf(event);
+            if (world != null) {
+                BukkitEventHandler<?>[] bound = worldHandlers.get(world);
+                if (bound != null) dispatch(bound, event);
+            }
+        }
+    }
+
+    /**
+     * Passes the event to handlers
+     * @param handlers handlers
+     * @param event event
+     * @since 1.0-SNAPSHOT
+     */
+    private void dispatch(@NotNull BukkitEventHandler<?>[] handlers, @NotNull Event event) {
+        for (BukkitEventHandler<?> handler : handlers) {
+            // Bukkit checks cancellation only once for the whole channel, earlier handler might have cancelled the event
+            if (key.ignoreCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled()) continue;
+
+            try {
+                handler.dispatch(event);
+            } catch (Throwable throwable) {
+                Helios.getLogger().log(Level.SEVERE, "Could not pass event " + event.getEventName() + " to handler of " + key.plugin().getName() + "!", throwable);
+            }
+        }
+    }
+
+    /**
+     * Returns unique id of player or entity of the event
+     * @param event event
+     * @return unique id, null if event does not have entity
+     * @since 1.0-SNAPSHOT
+     */
+    static @Nullable UUID entityOf(@NotNull Event event) {
+        Entity entity = null;
+        if (event instanceof PlayerEvent playerEvent) {
+            entity = playerEvent.getPlayer();
+        } else if (event instanceof EntityEvent entityEvent) {
+            entity = entityEvent.getEntity();
+        }
+        return entity != null ? entity.getUniqueId() : null;
+    }
+
+    /**
+     * Returns unique id of world the event happened in
+     * @param event event
+     * @return unique id, null if event does not have world
+     * @since 1.0-SNAPSHOT
+     */
+    static @Nullable UUID worldOf(@NotNull Event event) {
+        World world = null;
+        if (event instanceof WorldEvent worldEvent) {
+            world = worldEvent.getWorld();
+        } else if (event instanceof BlockEvent blockEvent) {
+            world = blockEvent.getBlock().getWorld();
+        } else if (event instanceof PlayerEvent playerEvent) {
+            world = playerEvent.getPlayer().getWorld();
+        } else if (event instanceof EntityEvent entityEvent) {
+            world = entityEvent.getEntity().getWorld();
+        }
+        return world != null ? world.getUID() : null;
+    }
+
+    /**
+     * Starts watching the plugin, so its channels are dropped once Bukkit unregisters them on disable
+     * @param plugin plugin
+     * @since 1.0-SNAPSHOT
+     */
+    private static void watch(@NotNull Plugin plugin) {
+        if (!WATCHED_PLUGINS.add(plugin)) return;
+
+        Listener watcher = new Listener() { };
+        try {
+            Bukkit.getPluginManager().registerEvent(PluginDisableEvent.class, watcher, EventPriority.MONITOR, (listener, event) -> {
+                if (event instanceof PluginDisableEvent disableEvent && disableEvent.getPlugin() == plugin) {
+                    close(plugin);
+                }
+            }, plugin, false);
+        } catch (RuntimeException exception) {
+            WATCHED_PLUGINS.remove(plugin);
+            throw exception;
+        }
+    }
+
+    /**
+     * Closes all channels of disabled plugin
+     * @param plugin plugin
+     * @since 1.0-SNAPSHOT
+     */
+    private static void close(@NotNull Plugin plugin) {
+        WATCHED_PLUGINS.remove(plugin);
+        CHANNELS.values().removeIf(channel -> {
+            if (channel.key.plugin() != plugin) return false;
+
+            synchronized (channel) {
+                channel.closed = true;
+                channel.handlers = NO_HANDLERS;
+                channel.entityHandlers.clear();
+                channel.worldHandlers.clear();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Settings shared by handlers of one channel
+     * @param eventClass event class
+     * @param eventPriority event priority
+     * @param ignoreCancelled whether cancelled events are ignored
+     * @param plugin plugin
+     * @since 1.0-SNAPSHOT
+     */
+    private record Key(Class<? extends Event> eventClass, EventPriority eventPriority, boolean ignoreCancelled, Plugin plugin) {
+    }
+}
@@ -1,20 +1,38 @@
 package gg.phast.helios.events;
 
+import com.google.common.base.Preconditions;
 import gg.phast.helios.Helios;
-import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
 import org.bukkit.event.*;
-import org.bukkit.plugin.EventExecutor;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.world.WorldEvent;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Event handler enabling us to easily handle events
  * easily with this wrapper, to start, create builder using
- * {@link #builder(Class, Consumer)}
+ * {@link #builder(Class, Consumer)}, or {@link #builder(Class, BukkitEventListener)}
+ * for hot events, which are dispatched without allocating anything.
+ * <p>
+ * Handlers with the same event class, priority, ignoreCancelled flag and plugin share single Bukkit registration,
+ * which calls their listeners directly without reflection, so registering and un-registering handler
+ * does not touch Bukkit's handler list once the first handler of the kind was registered.
+ * Handler can be bound to single player, entity or world (see {@link Builder#entity(UUID)}, {@link Builder#world(UUID)}),
+ * bound handlers are looked up by hash index, so they cost nothing for events of other targets.
+ * High-frequency events can be sampled or coalesced (see {@link Builder#onlyOnBlockChange()},
+ * {@link Builder#atMostOncePer(int)}, {@link Builder#latestPerTick()}) before the listener is called
  *
  * @since 1.0-SNAPSHOT
  * @author phastgg
@@ -23,64 +41,188 @@ import java.util.function.Consumer;
 public class BukkitEventHandler<T extends Event> {
 
     private final Class<T> eventClass;
-    private final Consumer<BukkitEventContext<T>> consumer;
+    private final BukkitEventListener<T> eventListener;
     private final EventPriority eventPriority;
     private final boolean ignoreCancelled;
-    private final EventExecutor eventExecutor;
-    private final Listener listener;
+    private final Plugin plugin;
+    private final UUID boundEntity;
+    private final UUID boundWorld;
+    private final boolean onlyOnBlockChange;
+    private final EventSampler sampler;
+    private final EventCoalescer<T> coalescer;
+    private volatile boolean registered;
 
     /**
      * Constructor, to create new event handler, use builder {@link #builder(Class, Consumer)}
      * @param eventClass event class
-     * @param consumer consumer (specifies how is event used)
+     * @param eventListener listener (specifies how is event used)
      * @param eventPriority priority of the event (def: NORMAL)
      * @param ignoreCancelled whether is event handled even after being already cancelled (def: false)
+     * @param plugin plugin which the listener is registered for (def: {@link Helios#getPlugin()})
      * @since 1.0-SNAPSHOT
      */
     protected BukkitEventHandler(
             final @NotNull Class<T> eventClass,
-            final @NotNull Consumer<BukkitEventContext<T>> consumer,
+            final @NotNull BukkitEventListener<T> eventListener,
             final @NotNull EventPriority eventPriority,
-            final boolean ignoreCancelled
+            final boolean ignoreCancelled,
+            final @NotNull Plugin plugin
     ) {
-        Listener listener = new Listener() {
-            @EventHandler
-            public void onEvent(final @NotNull T event) {
-                handle(event);
-            }
-        };
-        Method eventMethod;
-        try {
-            eventMethod = listener.getClass().getMethod("onEvent", Event.class);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
-        EventExecutor eventExecutor = EventExecutor.create(eventMethod, Event.class);
-
-        this.eventClass = eventClass;
-        this.consumer = consumer;
-        this.eventPriority = eventPriority;
-        this.ignoreCancelled = ignoreCancelled;
-        this.eventExecutor = eventExecutor;
-        this.listener = listener;
+        this(new Builder<>(eventClass, eventListener).priority(eventPriority).ignoreCancelled(ignoreCancelled).plugin(plugin));
+    }
+
+    /**
+     * Constructor, to create new event handler, use builder {@link #builder(Class, Consumer)}
+     * @param builder builder with settings of the handler
+     * @since 1.0-SNAPSHOT
+     */
+    protected BukkitEventHandler(final @NotNull Builder<T> builder) {
+        this.eventClass = builder.eventClass;
+        this.eventListener = builder.eventListener;
+        this.eventPriority = builder.eventPriority;
+        this.ignoreCancelled = builder.ignoreCancelled;
+        this.plugin = builder.plugin != null ? builder.plugin : Helios.getPlugin();
+        this.boundEntity = builder.boundEntity;
+        this.boundWorld = builder.boundWorld;
+        this.onlyOnBlockChange = builder.onlyOnBlockChange;
+        this.sampler = builder.sampleTicks > 0 ? new EventSampler(builder.sampleTicks) : null;
+        this.coalescer = builder.latestPerTick ? new EventCoalescer<>(this) : null;
         register();
     }
 
     /**
-     * Wraps a wrapper around event and then calls it to consumer
+     * Passes the event through sampling and coalescing (if set up) to the listener,
+     * called by the channel once the event class was checked
+     * @param event event
      * @since 1.0-SNAPSHOT
+     */
+    @SuppressWarnings("unchecked")
+    void dispatch(@NotNull Event event) {
+        if (onlyOnBlockChange && !((PlayerMoveEvent) event).hasChangedBlock()) return;
+
+        if (sampler == null && coalescer == null) {
+            eventListener.handle(this, (T) event);
+            return;
+        }
+
+        Object key = keyOf(event);
+        if (sampler != null && !sampler.admit(key)) return;
+
+        if (coalescer != null) {
+            coalescer.offer(key, (T) event);
+        } else {
+            eventListener.handle(this, (T) event);
+        }
+    }
+
+    /**
+     * Passes coalesced event to the listener, unless the handler was un-registered meanwhile
      * @param event event
+     * @since 1.0-SNAPSHOT
      */
-    private void handle(final @NotNull T event) {
-        consumer.accept(new BukkitEventContext<>(this, event));
+    void deliver(@NotNull T event) {
+        if (registered) {
+            eventListener.handle(this, event);
+        }
     }
 
     /**
-     * Registers event, wrapper is already automatically registered in constructor
+     * Returns key which sampling and coalescing is done by, unique id of player or entity,
+     * otherwise unique id of world, otherwise the event class (all events share single key)
+     * @param event event
+     * @return key
+     * @since 1.0-SNAPSHOT
+     */
+    private @NotNull Object keyOf(@NotNull Event event) {
+        UUID entity = BukkitEventChannel.entityOf(event);
+        if (entity != null) return entity;
+
+        UUID world = BukkitEventChannel.worldOf(event);
+        return world != null ? world : eventClass;
+    }
+
+    /**
+     * Returns event class
+     * @return event class
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull Class<T> getEventClass() {
+        return eventClass;
+    }
+
+    /**
+     * Returns priority of handling event
+     * @return event priority
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull EventPriority getEventPriority() {
+        return eventPriority;
+    }
+
+    /**
+     * Returns whether cancelled events are not handled
+     * @return whether cancelled events are ignored
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isIgnoreCancelled() {
+        return ignoreCancelled;
+    }
+
+    /**
+     * Returns plugin which the handler is registered for
+     * @return plugin
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull Plugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Returns unique id of player or entity which the handler is bound to
+     * @return unique id of entity, null if handler is not bound to entity
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable UUID getBoundEntity() {
+        return boundEntity;
+    }
+
+    /**
+     * Returns unique id of world which the handler is bound to
+     * @return unique id of world, null if handler is not bound to world
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable UUID getBoundWorld() {
+        return boundWorld;
+    }
+
+    /**
+     * Returns whether events of the class carry player or entity, which handlers can be bound to
+     * @param eventClass event class
+     * @return whether event has entity
+     * @since 1.0-SNAPSHOT
+     */
+    static boolean hasEntity(@NotNull Class<? extends Event> eventClass) {
+        return PlayerEvent.class.isAssignableFrom(eventClass) || EntityEvent.class.isAssignableFrom(eventClass);
+    }
+
+    /**
+     * Returns whether events of the class carry world, which handlers can be bound to
+     * @param eventClass event class
+     * @return whether event has world
+     * @since 1.0-SNAPSHOT
+     */
+    static boolean hasWorld(@NotNull Class<? extends Event> eventClass) {
+        return hasEntity(eventClass) || WorldEvent.class.isAssignableFrom(eventClass) || BlockEvent.class.isAssignableFrom(eventClass);
+    }
+
+    /**
+     * Registers event, wrapper is already automatically registered in constructor,
+     * registering already registered handler does nothing
      * @since 1.0-SNAPSHOT
      */
     public void register() {
-        Bukkit.getPluginManager().registerEvent(eventClass, listener, eventPriority, eventExecutor, Helios.getPlugin(), ignoreCancelled);
+        registered = true;
+        BukkitEventChannel.subscribe(this);
     }
 
     /**
@@ -88,7 +230,8 @@ public class BukkitEventHandler<T extends Event> {
      * @since 1.0-SNAPSHOT
      */
     public void unregister() {
-        HandlerList.unregisterAll(listener);
+        registered = false;
+        BukkitEventChannel.unsubscribe(this);
     }
 
     /**
@@ -101,7 +244,40 @@ public class BukkitEventHandler<T extends Event> {
      */
     @Contract(value = "_,_ -> new", pure = true)
     public static <T extends Event> BukkitEventHandler.@NotNull Builder<T> builder(final @NotNull Class<T> eventClass, final @NotNull Consumer<BukkitEventContext<T>> consumer) {
-        return new BukkitEventHandler.Builder<>(eventClass, consumer);
+        Objects.requireNonNull(consumer, "consumer");
+        return new BukkitEventHandler.Builder<>(eventClass, (handler, event) -> consumer.accept(new BukkitEventContext<>(handler, event)));
+    }
+
+    /**
+     * Creates new builder for listener which receives handler and event directly,
+     * so no context is allocated per event
+     * @since 1.0-SNAPSHOT
+     * @param eventClass event class
+     * @param eventListener listener for handling event
+     * @return new builder instance
+     * @param <T> specific event
+     */
+    @Contract(value = "_,_ -> new", pure = true)
+    public static <T extends Event> BukkitEventHandler.@NotNull Builder<T> builder(final @NotNull Class<T> eventClass, final @NotNull BukkitEventListener<T> eventListener) {
+        Objects.requireNonNull(eventListener, "eventListener");
+        return new BukkitEventHandler.Builder<>(eventClass, eventListener);
+    }
+
+    /**
+     * Creates builder of tick-batched pipeline, which collects snapshots of events
+     * and hands them over in bulk once per tick (see {@link BukkitEventBatcher})
+     * @since 1.0-SNAPSHOT
+     * @param eventClass event class
+     * @param snapshot function taking snapshot of the event, called on the thread of the event
+     * @return new builder instance
+     * @param <T> specific event
+     * @param <S> snapshot of the event
+     */
+    @Contract(value = "_,_ -> new", pure = true)
+    public static <T extends Event, S> BukkitEventBatcher.@NotNull Builder<T, S> batchBuilder(final @NotNull Class<T> eventClass, final @NotNull Function<? super T, ? extends S> snapshot) {
+        Objects.requireNonNull(eventClass, "eventClass");
+        Objects.requireNonNull(snapshot, "snapshot");
+        return new BukkitEventBatcher.Builder<>(eventClass, snapshot);
     }
 
     /**
@@ -112,19 +288,25 @@ public class BukkitEventHandler<T extends Event> {
     public static class Builder<T extends Event> {
 
         private final Class<T> eventClass;
-        private final Consumer<BukkitEventContext<T>> consumer;
+        private final BukkitEventListener<T> eventListener;
         private EventPriority eventPriority = EventPriority.NORMAL;
         private boolean ignoreCancelled = false;
+        private Plugin plugin;
+        private UUID boundEntity;
+        private UUID boundWorld;
+        private boolean onlyOnBlockChange;
+        private int sampleTicks;
+        private boolean latestPerTick;
 
         /**
          * Constructor, creates new builder with required parameters, others are optional
          * @since 1.0-SNAPSHOT
          * @param eventClass event class
-         * @param consumer consumer
+         * @param eventListener listener
          */
-        protected Builder(final Class<T> eventClass, final @NotNull Consumer<BukkitEventContext<T>> consumer) {
+        protected Builder(final Class<T> eventClass, final @NotNull BukkitEventListener<T> eventListener) {
             this.eventClass = eventClass;
-            this.consumer = consumer;
+            this.eventListener = eventListener;
         }
 
         /**
@@ -154,6 +336,121 @@ public class BukkitEventHandler<T extends Event> {
             return this;
         }
 
+        /**
+         * Specifies plugin which the listener is registered for
+         * @since 1.0-SNAPSHOT
+         * @param plugin plugin (Default: {@link Helios#getPlugin()})
+         * @return builder instance
+         */
+        public Builder<T> plugin(final @NotNull Plugin plugin) {
+            Objects.requireNonNull(plugin, "plugin");
+            this.plugin = plugin;
+            return this;
+        }
+
+        /**
+         * Binds the handler to single player, so only events of the player are passed to it,
+         * replaces previous binding, usable only for player and entity events
+         * @since 1.0-SNAPSHOT
+         * @param player unique id of player
+         * @return builder instance
+         */
+        public Builder<T> player(final @NotNull UUID player) {
+            return entity(player);
+        }
+
+        /**
+         * Binds the handler to single entity (or player), so only events of the entity are passed to it,
+         * replaces previous binding, usable only for player and entity events
+         * @since 1.0-SNAPSHOT
+         * @param entity entity
+         * @return builder instance
+         */
+        public Builder<T> entity(final @NotNull Entity entity) {
+            Objects.requireNonNull(entity, "entity");
+            return entity(entity.getUniqueId());
+        }
+
+        /**
+         * Binds the handler to single entity (or player), so only events of the entity are passed to it,
+         * replaces previous binding, usable only for player and entity events
+         * @since 1.0-SNAPSHOT
+         * @param entity unique id of entity
+         * @return builder instance
+         */
+        public Builder<T> entity(final @NotNull UUID entity) {
+            Objects.requireNonNull(entity, "entity");
+            Preconditions.checkArgument(hasEntity(eventClass), "%s does not have player or entity", eventClass.getSimpleName());
+            this.boundEntity = entity;
+            this.boundWorld = null;
+            return this;
+        }
+
+        /**
+         * Binds the handler to single world, so only events happening in the world are passed to it,
+         * replaces previous binding, usable only for world, block, player and entity events
+         * @since 1.0-SNAPSHOT
+         * @param world world
+         * @return builder instance
+         */
+        public Builder<T> world(final @NotNull World world) {
+            Objects.requireNonNull(world, "world");
+            return world(world.getUID());
+        }
+
+        /**
+         * Binds the handler to single world, so only events happening in the world are passed to it,
+         * replaces previous binding, usable only for world, block, player and entity events
+         * @since 1.0-SNAPSHOT
+         * @param world unique id of world
+         * @return builder instance
+         */
+        public Builder<T> world(final @NotNull UUID world) {
+            Objects.requireNonNull(world, "world");
+            Preconditions.checkArgument(hasWorld(eventClass), "%s does not have world", eventClass.getSimpleName());
+            this.boundWorld = world;
+            this.boundEntity = null;
+            return this;
+        }
+
+        /**
+         * Passes move event only if the player moved to another block, usable only for {@link PlayerMoveEvent}
+         * and its subclasses, rotating and moving within block are filtered out before the listener is called
+         * @since 1.0-SNAPSHOT
+         * @return builder instance
+         */
+        public Builder<T> onlyOnBlockChange() {
+            Preconditions.checkArgument(PlayerMoveEvent.class.isAssignableFrom(eventClass), "%s is not move event", eventClass.getSimpleName());
+            this.onlyOnBlockChange = true;
+            return this;
+        }
+
+        /**
+         * Passes at most one event per key in given number of ticks, other events are dropped,
+         * key is player or entity of the event, otherwise its world, otherwise all events share single key,
+         * ticks are measured as wall-clock time (50 milliseconds per tick)
+         * @since 1.0-SNAPSHOT
+         * @param ticks interval in ticks (must be greater than 0)
+         * @return builder instance
+         */
+        public Builder<T> atMostOncePer(final int ticks) {
+            Preconditions.checkArgument(ticks > 0, "ticks must be greater than 0");
+            this.sampleTicks = ticks;
+            return this;
+        }
+
+        /**
+         * Delivers only the last event per key in tick, key is the same as for {@link #atMostOncePer(int)},
+         * event is delivered on the next tick on the thread owning it (entity, block region or global region),
+         * so it was already fired and changes to it (e.g. cancelling) have no effect
+         * @since 1.0-SNAPSHOT
+         * @return builder instance
+         */
+        public Builder<T> latestPerTick() {
+            this.latestPerTick = true;
+            return this;
+        }
+
         /**
          * Creates new bukkit event handler,
          * it is important to call this method otherwise,
@@ -162,7 +459,7 @@ public class BukkitEventHandler<T extends Event> {
          * @return new bukkit event handler
          */
         public BukkitEventHandler<T> listen() {
-            return new BukkitEventHandler<>(eventClass, consumer, eventPriority, ignoreCancelled);
+            return new BukkitEventHandler<>(this);
         }
     }
 }
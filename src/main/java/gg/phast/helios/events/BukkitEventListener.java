@@ -0,0 +1,24 @@
+package gg.phast.helios.events;
+
+import org.bukkit.event.Event;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener receiving handler and event directly, without wrapping them into {@link BukkitEventContext},
+ * so dispatch of the event allocates nothing, suited for hot events (e.g. PlayerMoveEvent)
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ * @param <T> specific event
+ */
+@FunctionalInterface
+public interface BukkitEventListener<T extends Event> {
+
+    /**
+     * Handles the event
+     * @param handler handler which handles event, provides methods for manipulation with listener
+     * @param event called event
+     * @since 1.0-SNAPSHOT
+     */
+    void handle(@NotNull BukkitEventHandler<T> handler, @NotNull T event);
+}
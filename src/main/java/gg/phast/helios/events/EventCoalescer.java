@@ -0,0 +1,162 @@
+package gg.phast.helios.events;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventCallData;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Keeps only the last event per key and delivers it once on the next tick, on the thread owning the event
+ * (entity scheduler for player and entity events, region of the block for block events, global region otherwise),
+ * delivered event was already fired, so changes to it (e.g. cancelling) have no effect
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ * @param <T> specific event
+ */
+final class EventCoalescer<T extends Event> {
+
+    private final Map<Object, Slot> slots = new ConcurrentHashMap<>();
+    private final BukkitEventHandler<T> handler;
+
+    /**
+     * Constructor
+     * @param handler handler the events are delivered to
+     * @since 1.0-SNAPSHOT
+     */
+    EventCoalescer(@NotNull BukkitEventHandler<T> handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Offers event of the key, replacing event offered earlier in the same tick,
+     * slots of player and entity events belong to the entity instance, so entity which is removed
+     * and comes back with the same unique id (e.g. rejoined player) starts fresh
+     * @param key key of the event
+     * @param event event
+     * @since 1.0-SNAPSHOT
+     */
+    void offer(@NotNull Object key, @NotNull T event) {
+        Entity entity = entityOf(event);
+        Object slotKey = entity != null ? entity : key;
+
+        Slot slot = slots.get(slotKey);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(slotKey, Slot::new);
+        }
+
+        // delivery is already pending, it picks up this event instead
+        if (slot.latest.getAndSet(event) != null) return;
+
+        HeliosTask task;
+        try {
+            TaskScheduleContext context = contextOf(event, entity);
+            task = context.getSchedulerHandler().schedule(handler.getPlugin(), slot, slot.eventHandler, 0L, -1L);
+        } catch (RuntimeException exception) {
+            slot.take();
+            throw exception;
+        }
+
+        // scheduler refused the delivery (e.g. entity was removed), the slot must not stay pending
+        if (task.isCancelled()) {
+            slot.take();
+        }
+    }
+
+    /**
+     * Returns player or entity of the event
+     * @param event event
+     * @return entity, null if event does not have entity
+     * @since 1.0-SNAPSHOT
+     */
+    private static @Nullable Entity entityOf(@NotNull Event event) {
+        if (event instanceof PlayerEvent playerEvent) return playerEvent.getPlayer();
+        if (event instanceof EntityEvent entityEvent) return entityEvent.getEntity();
+        return null;
+    }
+
+    /**
+     * Returns context owning the event
+     * @param event event
+     * @param entity entity of the event, null if event does not have entity
+     * @return context
+     * @since 1.0-SNAPSHOT
+     */
+    private @NotNull TaskScheduleContext contextOf(@NotNull Event event, @Nullable Entity entity) {
+        TaskScheduleContext.Builder builder = TaskScheduleContext.builder().plugin(handler.getPlugin());
+
+        if (entity != null) {
+            builder.setSchedulerHandler(TaskSchedulerHandler.Type.ENTITY, entity);
+        } else if (event instanceof BlockEvent blockEvent) {
+            builder.setSchedulerHandler(TaskSchedulerHandler.Type.REGION, blockEvent.getBlock().getLocation());
+        } else {
+            builder.setSchedulerHandler(TaskSchedulerHandler.Type.SYNC);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Last event of single key, which is also the delivery task,
+     * slot is detached before delivery, so the next event of the key starts new slot
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    private final class Slot implements Consumer<HeliosTask> {
+
+        private final Object key;
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final TaskEventHandler eventHandler;
+
+        /**
+         * Constructor
+         * @param key key
+         * @since 1.0-SNAPSHOT
+         */
+        private Slot(@NotNull Object key) {
+            this.key = key;
+            // entity was removed before delivery, event is dropped
+            Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> listeners = Map.of(TaskEventType.RETIRED, List.of(data -> take()));
+            this.eventHandler = new TaskEventHandler(listeners);
+        }
+
+        /**
+         * Delivers the last event of the key
+         * @param task delivery task
+         * @since 1.0-SNAPSHOT
+         */
+        @Override
+        public void accept(@NotNull HeliosTask task) {
+            T event = take();
+            if (event != null) {
+                handler.deliver(event);
+            }
+        }
+
+        /**
+         * Detaches the slot and takes its last event, events offered to detached slot
+         * meanwhile schedule their own delivery
+         * @return last event, null if there is none
+         * @since 1.0-SNAPSHOT
+         */
+        private T take() {
+            slots.remove(key, this);
+            return latest.getAndSet(null);
+        }
+    }
+}
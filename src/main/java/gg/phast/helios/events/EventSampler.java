@@ -0,0 +1,71 @@
+package gg.phast.helios.events;
+
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets through at most one event per key in interval, interval is measured in wall-clock time
+ * (tick is 50 milliseconds), so it behaves the same on Folia region threads, which do not share single tick,
+ * keys which did not pass any event for the interval are pruned lazily
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+final class EventSampler {
+
+    private final static long MIN_PRUNE_NANOS = 1_000_000_000L;
+
+    private final Map<Object, Long> deliveries = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long pruneNanos;
+    private volatile long lastPrune = System.nanoTime();
+
+    /**
+     * Constructor
+     * @param ticks interval in ticks
+     * @since 1.0-SNAPSHOT
+     */
+    EventSampler(int ticks) {
+        this.intervalNanos = ticks * TaskSchedulerHandler.TICK_NANOS;
+        this.pruneNanos = Math.max(intervalNanos, MIN_PRUNE_NANOS);
+    }
+
+    /**
+     * Returns whether event of the key can pass, rejected events do not allocate
+     * @param key key of the event
+     * @return whether event can pass
+     * @since 1.0-SNAPSHOT
+     */
+    boolean admit(@NotNull Object key) {
+        long now = System.nanoTime();
+        while (true) {
+            Long last = deliveries.get(key);
+            if (last == null) {
+                if (deliveries.putIfAbsent(key, now) == null) break;
+                continue;
+            }
+
+            if (now - last < intervalNanos) return false;
+            if (deliveries.replace(key, last, now)) break;
+        }
+
+        prune(now);
+        return true;
+    }
+
+    /**
+     * Drops keys whose interval elapsed, at most once per interval (or second if interval is shorter)
+     * @param now current time
+     * @since 1.0-SNAPSHOT
+     */
+    private void prune(long now) {
+        if (now - lastPrune < pruneNanos) return;
+
+        // racing threads may prune twice, which is harmless
+        lastPrune = now;
+        deliveries.values().removeIf(last -> now - last >= intervalNanos);
+    }
+}
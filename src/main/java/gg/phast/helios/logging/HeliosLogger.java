@@ -21,6 +21,7 @@ public class HeliosLogger extends Logger {
     public HeliosLogger() {
         super("Helios-Logger", null);
         setLevel(Level.ALL);
-        setParent(Bukkit.getLogger());
+        // without server (e.g. headless simulations) records go to the root logger
+        setParent(Bukkit.getServer() != null ? Bukkit.getLogger() : Logger.getLogger(""));
     }
 }
@@ -1,28 +1,60 @@
 package gg.phast.helios.scheduling;
 
+import gg.phast.helios.Helios;
+import gg.phast.helios.scheduling.builders.BatchTaskScheduler;
+import gg.phast.helios.scheduling.builders.DebouncedTaskScheduler;
 import gg.phast.helios.scheduling.builders.DelayedTaskScheduler;
 import gg.phast.helios.scheduling.builders.InstantTaskScheduler;
 import gg.phast.helios.scheduling.builders.RepeatingTaskScheduler;
+import gg.phast.helios.scheduling.builders.ThrottledTaskScheduler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventCallData;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import gg.phast.helios.scheduling.registry.HeliosTaskRegistry;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.UUID;
 
 /**
  * BukkitTask wrapper which is primarily made for being used
  * while scheduling via helios scheduling api, to schedule
- * tasks use either {@link #instantTaskScheduler()}, {@link #delayedTaskScheduler()}
- * or {@link #repeatingTaskScheduler()}
+ * tasks use either {@link #instantTaskScheduler()}, {@link #delayedTaskScheduler()},
+ * {@link #repeatingTaskScheduler()}, {@link #batchTaskScheduler()}, {@link #debouncedTaskScheduler()}
+ * or {@link #throttledTaskScheduler()}
  *
  *  @author phastgg
  *  @since 1.0-SNAPSHOT
  */
 public abstract class HeliosTask {
 
+    private final static VarHandle STATE;
+    private final static State[] STATES = State.values();
+
+    private final static int SCHEDULED = State.SCHEDULED.ordinal();
+    private final static int RUNNING = State.RUNNING.ordinal();
+    private final static int FINISHED = State.FINISHED.ordinal();
+    private final static int CANCELLED = State.CANCELLED.ordinal();
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(HeliosTask.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected final TaskEventHandler eventHandler;
     protected final UUID uuid;
+    private volatile int state;
+    private TaskEventCallData<Void> emptyCallData;
+    private final long createdNanos;
+    private long lastStartNanos;
+    private long lastStartRun = -1L;
+    private long runs;
 
     /**
      * Constructor
@@ -33,20 +65,153 @@ public abstract class HeliosTask {
     protected HeliosTask(TaskEventHandler eventHandler) {
         this.eventHandler = eventHandler;
         this.uuid = UUID.randomUUID();
+        this.createdNanos = System.nanoTime();
+    }
+
+    /**
+     * Cancels task if the task is still valid, can be called from any thread
+     * and even before the task was handed over to the platform scheduler,
+     * {@link TaskEventType#CANCEL} is triggered exactly once
+     * @since 1.0-SNAPSHOT
+     */
+    public final void cancel() {
+        int current;
+        do {
+            current = state;
+            if (current == FINISHED || current == CANCELLED) {
+                Helios.getLogger().warning("Tried to cancel task (" + uuid + ") which is already considered " + STATES[current].name().toLowerCase() + "!");
+                return;
+            }
+        } while (!STATE.compareAndSet(this, current, CANCELLED));
+
+        cancelPlatformTask();
+        HeliosTaskRegistry.unregister(this);
+        if (eventHandler != null) eventHandler.triggerEvent(this, TaskEventType.CANCEL, null);
     }
 
     /**
-     * Cancels task if the task is still valid
+     * Cancels the underlying platform task, called once after the task was marked as cancelled,
+     * implementations must tolerate being called before the platform task is known
      * @since 1.0-SNAPSHOT
      */
-    public abstract void cancel();
+    protected abstract void cancelPlatformTask();
 
     /**
      * Returns whether task is cancelled
      * @return whether task is cancelled
      * @since 1.0-SNAPSHOT
      */
-    public abstract boolean isCancelled();
+    public final boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    /**
+     * Returns whether task is done, either finished or cancelled
+     * @return whether task is done
+     * @since 1.0-SNAPSHOT
+     */
+    public final boolean isDone() {
+        int current = state;
+        return current == FINISHED || current == CANCELLED;
+    }
+
+    /**
+     * Returns current state of the task
+     * @return state
+     * @since 1.0-SNAPSHOT
+     */
+    public final @NotNull State getState() {
+        return STATES[state];
+    }
+
+    /**
+     * Returns call data without any data, created once and reused for every event of this task, for internal API use
+     * @return call data
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public final @NotNull TaskEventCallData<Void> getEmptyCallData() {
+        TaskEventCallData<Void> callData = this.emptyCallData;
+        if (callData == null) {
+            // racing threads create equal immutable instances, so no synchronization is needed
+            callData = new TaskEventCallData<>(this, null);
+            this.emptyCallData = callData;
+        }
+        return callData;
+    }
+
+    /**
+     * Returns planned start of the current run and remembers its actual start, for internal API use,
+     * the first run is planned delay after the task was created and every other run period after the actual start
+     * of the previous run (as platform schedulers do), so single lag spike is not carried over to later runs.
+     * Runs of single task never overlap, so no synchronization is needed
+     * @param startNanos actual start of the current run
+     * @param delayNanos delay of the first run in nanoseconds
+     * @param periodNanos period in nanoseconds
+     * @return planned start of the current run in {@link System#nanoTime()} units,
+     * or {@link Long#MIN_VALUE} if the start of the previous run is not known (it was not planned)
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public final long planRun(long startNanos, long delayNanos, long periodNanos) {
+        long planned;
+        if (runs == 0L) {
+            planned = createdNanos + delayNanos;
+        } else if (lastStartRun == runs - 1L) {
+            planned = lastStartNanos + periodNanos;
+        } else {
+            planned = Long.MIN_VALUE;
+        }
+
+        lastStartNanos = startNanos;
+        lastStartRun = runs;
+        return planned;
+    }
+
+    /**
+     * Marks task as running, for internal API use
+     * @return whether task can run, false if it was cancelled (or already finished)
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public final boolean markRunning() {
+        return STATE.compareAndSet(this, SCHEDULED, RUNNING);
+    }
+
+    /**
+     * Marks task as done with current run, for internal API use
+     * @param repeating whether task will run again
+     * @return whether task was still running, false if it was cancelled during the run
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public final boolean markRan(boolean repeating) {
+        runs++;
+        if (!STATE.compareAndSet(this, RUNNING, repeating ? SCHEDULED : FINISHED)) return false;
+
+        if (!repeating) {
+            HeliosTaskRegistry.unregister(this);
+        }
+        return true;
+    }
+
+    /**
+     * Marks task as cancelled without triggering {@link TaskEventType#CANCEL}, for internal API use,
+     * used when the platform drops the task on its own (e.g. entity was removed)
+     * @return whether task was still alive
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public final boolean markRetired() {
+        int current;
+        do {
+            current = state;
+            if (current == FINISHED || current == CANCELLED) return false;
+        } while (!STATE.compareAndSet(this, current, CANCELLED));
+
+        HeliosTaskRegistry.unregister(this);
+        return true;
+    }
 
     /**
      * Returns unique id which is generated for every task to differentiate them
@@ -86,4 +251,48 @@ public abstract class HeliosTask {
     public static @NotNull RepeatingTaskScheduler repeatingTaskScheduler() {
         return new RepeatingTaskScheduler();
     }
+
+    /**
+     * Creates new batch task scheduler, which runs many consumers as a single instant task with one shared handle,
+     * for creating task with the same properties after scheduling, new instance needs to be made
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull BatchTaskScheduler batchTaskScheduler() {
+        return new BatchTaskScheduler();
+    }
+
+    /**
+     * Creates new debounced task scheduler, which runs the task once triggers under its key stop coming for a window,
+     * every trigger is made by scheduling the builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull DebouncedTaskScheduler debouncedTaskScheduler() {
+        return new DebouncedTaskScheduler();
+    }
+
+    /**
+     * Creates new throttled task scheduler, which runs the task at most once per window no matter how many
+     * triggers under its key come, every trigger is made by scheduling the builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull ThrottledTaskScheduler throttledTaskScheduler() {
+        return new ThrottledTaskScheduler();
+    }
+
+    /**
+     * State of the task, task starts as SCHEDULED, moves to RUNNING for every run and back to SCHEDULED
+     * if it is repeating, FINISHED and CANCELLED are terminal
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public enum State {
+        SCHEDULED,
+        RUNNING,
+        FINISHED,
+        CANCELLED
+    }
 }
@@ -0,0 +1,326 @@
+package gg.phast.helios.scheduling.adaptive;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.HeliosPlatform;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.priority.TaskPriority;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Load-adaptive period of repeating task, the task is driven every min period ticks and runs only
+ * once the effective period passed. Effective period stretches from min towards max period
+ * as the measured tick duration (MSPT) grows, and shrinks back once the load drops.
+ * <p>
+ * Priority decides how early the period is stretched, {@link TaskPriority#BACKGROUND} tasks back off
+ * from {@value #BACKGROUND_SHED_START} ms, {@link TaskPriority#NORMAL} from {@value #NORMAL_SHED_START} ms and
+ * {@link TaskPriority#CRITICAL} only once the server cannot keep up ({@value #CRITICAL_SHED_START} ms),
+ * every class reaches its max period {@value #SHED_RANGE} ms later.
+ * <p>
+ * Tick duration is taken from the server (Paper). If the server does not provide it (plain Bukkit, Folia, virtual clock),
+ * lag is measured instead, as the amount by which the interval between the runs of the task exceeds
+ * {@value #TICK_MILLIS} ms per tick. Lag is zero while the server keeps up, so it is compared with its own thresholds,
+ * {@link TaskPriority#BACKGROUND} tasks back off from {@value #BACKGROUND_LAG_START} ms of lag,
+ * {@link TaskPriority#NORMAL} from {@value #NORMAL_LAG_START} ms and {@link TaskPriority#CRITICAL}
+ * from {@value #CRITICAL_LAG_START} ms, with the same range.
+ * Single instance belongs to single task, to create new instance, use {@link #builder()}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class AdaptivePeriod {
+
+    private final static double BACKGROUND_SHED_START = 25.0D;
+    private final static double NORMAL_SHED_START = 40.0D;
+    private final static double CRITICAL_SHED_START = 50.0D;
+    private final static double BACKGROUND_LAG_START = 5.0D;
+    private final static double NORMAL_LAG_START = 15.0D;
+    private final static double CRITICAL_LAG_START = 25.0D;
+    private final static double SHED_RANGE = 20.0D;
+    private final static double TICK_MILLIS = TaskSchedulerHandler.TICK_NANOS / 1_000_000.0D;
+    private final static double SMOOTHING = 0.2D;
+
+    private static volatile boolean serverTickTime = HeliosPlatform.current() == HeliosPlatform.PAPER;
+
+    private final long minPeriod;
+    private final long maxPeriod;
+    private final TaskPriority priority;
+
+    // written only by the thread running the task, runs of single task never overlap
+    private volatile long effectivePeriod;
+    private volatile long skippedRuns;
+    private volatile long executedRuns;
+    private volatile double tickMillis = Double.NaN;
+    private volatile double lagMillis = Double.NaN;
+    private long elapsed = Long.MAX_VALUE;
+    private long lastDriveNanos;
+    private boolean bound;
+
+    /**
+     * Constructor, to create new instance, use builder {@link #builder()}
+     * @param minPeriod min period in ticks
+     * @param maxPeriod max period in ticks
+     * @param priority priority class
+     * @since 1.0-SNAPSHOT
+     */
+    protected AdaptivePeriod(long minPeriod, long maxPeriod, @NotNull TaskPriority priority) {
+        this.minPeriod = minPeriod;
+        this.maxPeriod = maxPeriod;
+        this.priority = priority;
+        this.effectivePeriod = minPeriod;
+    }
+
+    /**
+     * Binds this period to the task being scheduled, for internal API use
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public synchronized void bind() {
+        Preconditions.checkState(!bound, "adaptive period is already used by another task");
+        bound = true;
+    }
+
+    /**
+     * Called every time the driving task runs (every min period ticks), for internal API use
+     * @return whether the task should run now, false if the run is skipped
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public boolean drive() {
+        long now = System.nanoTime();
+        long period;
+
+        double serverMillis = serverTickMillis();
+        if (!Double.isNaN(serverMillis)) {
+            double smoothed = smooth(tickMillis, serverMillis);
+            tickMillis = smoothed;
+            period = computePeriod(smoothed, false);
+        } else {
+            double smoothed = lagMillis;
+            if (lastDriveNanos != 0L) {
+                double interval = (now - lastDriveNanos) / 1_000_000.0D / minPeriod;
+                smoothed = smooth(smoothed, Math.max(interval - TICK_MILLIS, 0.0D));
+                lagMillis = smoothed;
+            }
+            period = Double.isNaN(smoothed) ? minPeriod : computePeriod(smoothed, true);
+        }
+
+        lastDriveNanos = now;
+        effectivePeriod = period;
+
+        if (elapsed != Long.MAX_VALUE) {
+            elapsed += minPeriod;
+        }
+
+        if (elapsed < period) {
+            skippedRuns++;
+            return false;
+        }
+
+        elapsed = 0L;
+        executedRuns++;
+        return true;
+    }
+
+    /**
+     * Asks the server for the average tick duration
+     * @return tick duration in milliseconds, or NaN if the server does not provide it
+     * @since 1.0-SNAPSHOT
+     */
+    private static double serverTickMillis() {
+        if (!serverTickTime) return Double.NaN;
+
+        try {
+            return Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException | NullPointerException exception) {
+            // server does not track it (or is not running at all), fall back to measuring lag
+            serverTickTime = false;
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Smooths the measurement into the previous value, the first measurement is taken as it is
+     * @param previous previous smoothed value, NaN if there is none
+     * @param measured measured value
+     * @return smoothed value
+     * @since 1.0-SNAPSHOT
+     */
+    private static double smooth(double previous, double measured) {
+        return Double.isNaN(previous) ? measured : previous + (measured - previous) * SMOOTHING;
+    }
+
+    /**
+     * Computes period for the tick duration (or lag), rounded down to multiple of min period
+     * @param millis tick duration or lag in milliseconds
+     * @param lag whether the value is lag, which has its own thresholds
+     * @return period in ticks
+     * @since 1.0-SNAPSHOT
+     */
+    private long computePeriod(double millis, boolean lag) {
+        double start = switch (priority) {
+            case BACKGROUND -> lag ? BACKGROUND_LAG_START : BACKGROUND_SHED_START;
+            case NORMAL -> lag ? NORMAL_LAG_START : NORMAL_SHED_START;
+            case CRITICAL -> lag ? CRITICAL_LAG_START : CRITICAL_SHED_START;
+        };
+
+        double load = Math.min(Math.max((millis - start) / SHED_RANGE, 0.0D), 1.0D);
+        long period = minPeriod + Math.round(load * (maxPeriod - minPeriod));
+        return Math.max(period / minPeriod * minPeriod, minPeriod);
+    }
+
+    /**
+     * Returns min period, which the task is driven with
+     * @return min period in ticks
+     * @since 1.0-SNAPSHOT
+     */
+    public long getMinPeriod() {
+        return minPeriod;
+    }
+
+    /**
+     * Returns max period, which the task backs off to under full load
+     * @return max period in ticks
+     * @since 1.0-SNAPSHOT
+     */
+    public long getMaxPeriod() {
+        return maxPeriod;
+    }
+
+    /**
+     * Returns priority class
+     * @return priority
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull TaskPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns period the task currently runs with
+     * @return effective period in ticks
+     * @since 1.0-SNAPSHOT
+     */
+    public long getEffectivePeriod() {
+        return effectivePeriod;
+    }
+
+    /**
+     * Returns amount of runs at min period which were skipped due to stretched period
+     * @return skipped runs
+     * @since 1.0-SNAPSHOT
+     */
+    public long getSkippedRuns() {
+        return skippedRuns;
+    }
+
+    /**
+     * Returns amount of runs which were executed
+     * @return executed runs
+     * @since 1.0-SNAPSHOT
+     */
+    public long getExecutedRuns() {
+        return executedRuns;
+    }
+
+    /**
+     * Returns smoothed tick duration reported by the server, which the effective period is computed from
+     * @return tick duration in milliseconds, or NaN if the server does not provide it
+     * @since 1.0-SNAPSHOT
+     */
+    public double getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Returns smoothed lag per tick measured from the intervals between runs,
+     * which the effective period is computed from if the server does not provide tick duration
+     * @return lag in milliseconds, or NaN if it was not measured
+     * @since 1.0-SNAPSHOT
+     */
+    public double getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Creates new builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull AdaptivePeriod.Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder which helps us create the adaptive period
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static class Builder {
+
+        private Long minPeriod;
+        private Long maxPeriod;
+        private TaskPriority priority = TaskPriority.NORMAL;
+
+        /**
+         * Constructor
+         * @since 1.0-SNAPSHOT
+         */
+        protected Builder() {
+        }
+
+        /**
+         * Sets up min period, which the task runs with when server is not under load
+         * @param minPeriod min period in ticks (must be greater than 0)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder minPeriod(long minPeriod) {
+            Preconditions.checkArgument(minPeriod > 0, "minPeriod must be greater than 0");
+            this.minPeriod = minPeriod;
+            return this;
+        }
+
+        /**
+         * Sets up max period, which the task backs off to under full load
+         * @param maxPeriod max period in ticks (must be greater than 0)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder maxPeriod(long maxPeriod) {
+            Preconditions.checkArgument(maxPeriod > 0, "maxPeriod must be greater than 0");
+            this.maxPeriod = maxPeriod;
+            return this;
+        }
+
+        /**
+         * Sets up priority class
+         * @param priority priority (def: NORMAL)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder priority(@NotNull TaskPriority priority) {
+            Objects.requireNonNull(priority, "priority");
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Creates new adaptive period
+         * @return new adaptive period
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull AdaptivePeriod build() {
+            Objects.requireNonNull(minPeriod, "minPeriod");
+            Objects.requireNonNull(maxPeriod, "maxPeriod");
+            Preconditions.checkArgument(maxPeriod >= minPeriod, "maxPeriod must be equals or greater than minPeriod");
+            return new AdaptivePeriod(minPeriod, maxPeriod, priority);
+        }
+    }
+}
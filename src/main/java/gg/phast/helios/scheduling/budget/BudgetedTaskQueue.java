@@ -0,0 +1,265 @@
+package gg.phast.helios.scheduling.budget;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.Helios;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Time-budgeted work queue which is drained on the server thread once per tick,
+ * work is executed until the configured nanosecond budget is used up and the rest
+ * is carried over to the next tick, so heavy jobs never blow the whole tick.
+ * <p>
+ * At least one unit of work is executed every tick, even if it alone exceeds the budget,
+ * to guarantee progress. Work can be submitted from any thread.
+ * To create new queue, use {@link #builder()}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class BudgetedTaskQueue {
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong executedWork = new AtomicLong();
+    private final AtomicLong carriedOverWork = new AtomicLong();
+    private final long budgetNanos;
+    private final HeliosTask drainTask;
+
+    private volatile int lastExecutedWork;
+    private volatile int lastCarriedOverWork;
+    private volatile long lastDrainNanos;
+
+    /**
+     * Constructor, to create new queue, use builder {@link #builder()}
+     * @param budgetNanos budget per tick in nanoseconds
+     * @param context context which the queue is drained in
+     * @since 1.0-SNAPSHOT
+     */
+    protected BudgetedTaskQueue(long budgetNanos, @NotNull TaskScheduleContext context) {
+        this.budgetNanos = budgetNanos;
+        this.drainTask = HeliosTask.repeatingTaskScheduler()
+                .delay(1L)
+                .period(1L)
+                .execute(task -> drain())
+                .schedule(context);
+    }
+
+    /**
+     * Enqueues unit of work, which will be executed on one of the next ticks
+     * @param work unit of work
+     * @since 1.0-SNAPSHOT
+     */
+    public void submit(@NotNull Runnable work) {
+        Objects.requireNonNull(work, "work");
+        Preconditions.checkState(!drainTask.isCancelled(), "queue is already shut down");
+
+        queue.add(work);
+        queueDepth.incrementAndGet();
+    }
+
+    /**
+     * Drains the queue until the budget is used up
+     * @since 1.0-SNAPSHOT
+     */
+    private void drain() {
+        if (queueDepth.get() == 0) {
+            lastExecutedWork = 0;
+            lastCarriedOverWork = 0;
+            lastDrainNanos = 0L;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long now = start;
+        int executed = 0;
+        Runnable work;
+
+        while (now - start < budgetNanos && (work = queue.poll()) != null) {
+            queueDepth.decrementAndGet();
+            executed++;
+
+            try {
+                work.run();
+            } catch (Exception exception) {
+                Helios.getLogger().log(Level.SEVERE, "Caught exception while executing budgeted work!", exception);
+            }
+
+            now = System.nanoTime();
+        }
+
+        int carriedOver = queueDepth.get();
+        executedWork.addAndGet(executed);
+        carriedOverWork.addAndGet(carriedOver);
+
+        lastExecutedWork = executed;
+        lastCarriedOverWork = carriedOver;
+        lastDrainNanos = now - start;
+    }
+
+    /**
+     * Stops draining the queue, work which was not executed yet is discarded
+     * @since 1.0-SNAPSHOT
+     */
+    public void shutdown() {
+        if (!drainTask.isCancelled()) {
+            drainTask.cancel();
+        }
+
+        queue.clear();
+        queueDepth.set(0);
+    }
+
+    /**
+     * Returns budget per tick
+     * @return budget per tick in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Returns amount of work units waiting in the queue
+     * @return queue depth
+     * @since 1.0-SNAPSHOT
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns amount of work units executed during the last tick
+     * @return executed work during last tick
+     * @since 1.0-SNAPSHOT
+     */
+    public int getLastExecutedWork() {
+        return lastExecutedWork;
+    }
+
+    /**
+     * Returns amount of work units which were left in the queue after the last tick used up its budget
+     * @return work carried over from last tick
+     * @since 1.0-SNAPSHOT
+     */
+    public int getLastCarriedOverWork() {
+        return lastCarriedOverWork;
+    }
+
+    /**
+     * Returns time spent draining the queue during the last tick
+     * @return drain time in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+
+    /**
+     * Returns amount of work units executed since the queue was created
+     * @return total executed work
+     * @since 1.0-SNAPSHOT
+     */
+    public long getTotalExecutedWork() {
+        return executedWork.get();
+    }
+
+    /**
+     * Returns sum of work units carried over to the next tick since the queue was created,
+     * unit waiting for several ticks is counted once per each tick
+     * @return total carried over work
+     * @since 1.0-SNAPSHOT
+     */
+    public long getTotalCarriedOverWork() {
+        return carriedOverWork.get();
+    }
+
+    /**
+     * Creates new builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull BudgetedTaskQueue.Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder which helps us create the queue
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static class Builder {
+
+        private long budgetNanos = TimeUnit.MILLISECONDS.toNanos(5L);
+        private TaskSchedulerHandler.Type<Void> type = TaskSchedulerHandler.Type.SYNC;
+
+        /**
+         * Constructor
+         * @since 1.0-SNAPSHOT
+         */
+        protected Builder() {
+        }
+
+        /**
+         * Sets up budget which can be used every tick
+         * @param budgetNanos budget in nanoseconds (must be greater than 0, def: 5 ms)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder budgetNanos(long budgetNanos) {
+            Preconditions.checkArgument(budgetNanos > 0, "budgetNanos must be greater than 0");
+            this.budgetNanos = budgetNanos;
+            return this;
+        }
+
+        /**
+         * Sets up budget which can be used every tick
+         * @param budget budget (must be greater than 0, def: 5 ms)
+         * @param unit time unit of budget
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder budget(long budget, @NotNull TimeUnit unit) {
+            Objects.requireNonNull(unit, "unit");
+            return budgetNanos(unit.toNanos(budget));
+        }
+
+        /**
+         * Sets up scheduler type which is the queue drained with
+         * @param type either {@link TaskSchedulerHandler.Type#SYNC} or {@link TaskSchedulerHandler.Type#GLOBAL_REGION} (def: SYNC)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder schedulerType(TaskSchedulerHandler.@NotNull Type<Void> type) {
+            Objects.requireNonNull(type, "type");
+            Preconditions.checkArgument(
+                    type == TaskSchedulerHandler.Type.SYNC || type == TaskSchedulerHandler.Type.GLOBAL_REGION,
+                    "type must be either sync or global_region"
+            );
+            this.type = type;
+            return this;
+        }
+
+        /**
+         * Creates new queue and starts draining it every tick
+         * @return new budgeted task queue
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull BudgetedTaskQueue build() {
+            return new BudgetedTaskQueue(budgetNanos, TaskScheduleContext.of(type));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package gg.phast.helios.scheduling.builders;
+
+import gg.phast.helios.Helios;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Batch task builder, runs many consumers as a single instant task, all consumers
+ * share one {@link HeliosTask} handle, cancelling it skips the consumers which did not run yet.
+ * <p>
+ * Exception thrown by any consumer is reported through {@link TaskEventType#EXCEPTION}
+ * and does not prevent the remaining consumers from running.
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class BatchTaskScheduler extends TaskScheduler {
+
+    private final List<Consumer<HeliosTask>> consumers = new ArrayList<>();
+
+    /**
+     * Adds consumer to the batch, which will be called when running this task
+     * @param consumer consumer
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public BatchTaskScheduler execute(@NotNull Consumer<HeliosTask> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        this.consumers.add(consumer);
+        return this;
+    }
+
+    /**
+     * Adds all consumers to the batch, which will be called in iteration order when running this task
+     * @param consumers consumers
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public BatchTaskScheduler executeAll(@NotNull Collection<? extends Consumer<HeliosTask>> consumers) {
+        Objects.requireNonNull(consumers, "consumers");
+        for (Consumer<HeliosTask> consumer : consumers) {
+            execute(consumer);
+        }
+        return this;
+    }
+
+    /**
+     * Sets up name of the task, metrics of tasks with the same name are grouped together
+     * @param name name
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public BatchTaskScheduler name(@NotNull String name) {
+        super.name(name);
+        return this;
+    }
+
+    /**
+     * Sets up owner of the task, all live tasks of owner can be cancelled at once
+     * @param owner owner key
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public BatchTaskScheduler owner(@NotNull Object owner) {
+        super.owner(owner);
+        return this;
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of batch task
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull TaskTemplate.Scheduling freeze() {
+        if (consumers.isEmpty()) {
+            throw new IllegalStateException("Cannot schedule empty batch");
+        }
+
+        List<Consumer<HeliosTask>> batch = List.copyOf(consumers);
+        return (context, eventHandler, owner) -> {
+            Consumer<HeliosTask> batchConsumer = (task) -> {
+                for (Consumer<HeliosTask> consumer : batch) {
+                    if (task.isCancelled()) return;
+
+                    try {
+                        consumer.accept(task);
+                    } catch (Exception exception) {
+                        Helios.getLogger().severe("Caught exception while executing batched task!");
+                        eventHandler.triggerEvent(task, TaskEventType.EXCEPTION, exception);
+                    }
+                }
+            };
+
+            HeliosTask task = context.getSchedulerHandler().schedule(context.getPlugin(), batchConsumer, eventHandler, 0L, -1L);
+            return register(task, owner, context);
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package gg.phast.helios.scheduling.builders;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.QueuedHeliosTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Debounced task builder, the task runs once triggers under its key stop coming for a whole window,
+ * every trigger pushes the execution back. Platform task is re-armed at most once per window, not per trigger,
+ * so the execution happens after at least one and at most two windows since the last trigger
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class DebouncedTaskScheduler extends KeyedTaskScheduler {
+
+    private final static Map<Object, KeyState> STATES = new ConcurrentHashMap<>();
+
+    /**
+     * Sets up key which triggers are coalesced under, keys are compared by equals and hash code
+     * and are shared by every builder of the same kind
+     * @param key key (e.g. record of job and player)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public DebouncedTaskScheduler key(@NotNull Object key) {
+        super.key(key);
+        return this;
+    }
+
+    /**
+     * Sets up window of coalescing
+     * @param window window in ticks (must be greater than 0)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public DebouncedTaskScheduler window(long window) {
+        super.window(window);
+        return this;
+    }
+
+    /**
+     * Sets up consumer for scheduled task, which will be called when running this task
+     * @param consumer consumer
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public DebouncedTaskScheduler execute(@NotNull Consumer<HeliosTask> consumer) {
+        super.execute(consumer);
+        return this;
+    }
+
+    /**
+     * Sets up name of the task, metrics of tasks with the same name are grouped together
+     * @param name name
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public DebouncedTaskScheduler name(@NotNull String name) {
+        super.name(name);
+        return this;
+    }
+
+    /**
+     * Sets up owner of the task, all live tasks of owner can be cancelled at once
+     * @param owner owner key
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public DebouncedTaskScheduler owner(@NotNull Object owner) {
+        super.owner(owner);
+        return this;
+    }
+
+    /**
+     * Returns states of all keys of this kind of builder
+     * @return key states
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull Map<Object, KeyState> states() {
+        return STATES;
+    }
+
+    /**
+     * Handles trigger, called while holding lock of the state
+     * @param state state of key
+     * @param context context of the trigger
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void trigger(@NotNull KeyState state, @NotNull TaskScheduleContext context) {
+        state.triggers++;
+        if (state.armed) return;
+
+        state.armedTriggers = state.triggers;
+        state.waited = state.window;
+        arm(state, context, state.window);
+    }
+
+    /**
+     * Called by platform task once the delay passed
+     * @param state state of key
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void fire(@NotNull KeyState state) {
+        QueuedHeliosTask task;
+        Consumer<HeliosTask> consumer;
+        TaskEventHandler eventHandler;
+        long waited;
+
+        synchronized (state) {
+            if (state.pending == null || state.pending.isDone()) {
+                drop(state);
+                return;
+            }
+
+            if (state.triggers != state.armedTriggers) {
+                // triggered during the window, wait for another quiet one
+                state.armedTriggers = state.triggers;
+                state.waited += state.window;
+                arm(state, state.context, state.window);
+                return;
+            }
+
+            task = state.pending;
+            consumer = state.consumer;
+            eventHandler = state.eventHandler;
+            waited = state.waited;
+            drop(state);
+        }
+
+        run(task, consumer, eventHandler, waited);
+    }
+}
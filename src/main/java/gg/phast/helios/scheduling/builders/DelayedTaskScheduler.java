@@ -1,14 +1,13 @@
 package gg.phast.helios.scheduling.builders;
 
 import com.google.common.base.Preconditions;
-import gg.phast.helios.Helios;
 import gg.phast.helios.scheduling.HeliosTask;
-import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -20,6 +19,7 @@ import java.util.function.Consumer;
 public class DelayedTaskScheduler extends TaskScheduler {
 
     private Integer delay;
+    private Long delayNanos;
     private Consumer<HeliosTask> consumer;
 
     /**
@@ -31,9 +31,39 @@ public class DelayedTaskScheduler extends TaskScheduler {
     public DelayedTaskScheduler delay(int delay) {
         Preconditions.checkArgument(delay >= 0, "delay must be greater or equal to 0");
         this.delay = delay;
+        this.delayNanos = null;
         return this;
     }
 
+    /**
+     * Sets up wall-clock delay for scheduled task, honoured exactly by handlers with
+     * {@link gg.phast.helios.scheduling.handler.TaskSchedulerHandler#isWallClockTiming() wall-clock timing} (e.g. ASYNC, VIRTUAL),
+     * tick based handlers round it up to the nearest whole tick
+     * @param delay delay (must be equals or greater than 0)
+     * @param unit time unit of delay
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public DelayedTaskScheduler delay(long delay, @NotNull TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(delay >= 0, "delay must be greater or equal to 0");
+        this.delayNanos = unit.toNanos(delay);
+        this.delay = null;
+        return this;
+    }
+
+    /**
+     * Sets up wall-clock delay for scheduled task, see {@link #delay(long, TimeUnit)}
+     * @param delay delay (must not be negative)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public DelayedTaskScheduler delay(@NotNull Duration delay) {
+        Objects.requireNonNull(delay, "delay");
+        Preconditions.checkArgument(!delay.isNegative(), "delay must not be negative");
+        return delay(saturatedNanos(delay), TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Sets up consumer for scheduled task, which will be called when running this task
      * @param consumer consumer
@@ -47,20 +77,54 @@ public class DelayedTaskScheduler extends TaskScheduler {
     }
 
     /**
-     * Schedules delayed task with specific context
-     * @param context context
-     * @return helios task
+     * Sets up name of the task, metrics of tasks with the same name are grouped together
+     * @param name name
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public DelayedTaskScheduler name(@NotNull String name) {
+        super.name(name);
+        return this;
+    }
+
+    /**
+     * Sets up owner of the task, all live tasks of owner can be cancelled at once
+     * @param owner owner key
+     * @return builder instance
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public @NotNull HeliosTask schedule(@Nullable TaskScheduleContext context) {
-        Objects.requireNonNull(delay, "delay");
+    public DelayedTaskScheduler owner(@NotNull Object owner) {
+        super.owner(owner);
+        return this;
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of delayed task
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull TaskTemplate.Scheduling freeze() {
+        if (delayNanos == null) {
+            Objects.requireNonNull(delay, "delay");
+        }
         Objects.requireNonNull(consumer, "consumer");
 
-        if (context == null) {
-            context = TaskScheduleContext.defaultContext();
+        Consumer<HeliosTask> consumer = this.consumer;
+        if (delayNanos != null) {
+            long delayNanos = this.delayNanos;
+            return (context, eventHandler, owner) -> {
+                HeliosTask task = context.getSchedulerHandler().scheduleNanos(context.getPlugin(), consumer, eventHandler, delayNanos, -1L);
+                return register(task, owner, context);
+            };
         }
 
-        return context.getSchedulerHandler().schedule(Helios.getPlugin(), consumer, this.createEventHandler(), delay, -1L);
+        long delay = this.delay;
+        return (context, eventHandler, owner) -> {
+            HeliosTask task = context.getSchedulerHandler().schedule(context.getPlugin(), consumer, eventHandler, delay, -1L);
+            return register(task, owner, context);
+        };
     }
 }
@@ -1,11 +1,8 @@
 package gg.phast.helios.scheduling.builders;
 
-import gg.phast.helios.Helios;
 import gg.phast.helios.scheduling.HeliosTask;
-import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -33,19 +30,42 @@ public class InstantTaskScheduler extends TaskScheduler {
     }
 
     /**
-     * Schedules instant task with specific context
-     * @param context context
-     * @return helios task
+     * Sets up name of the task, metrics of tasks with the same name are grouped together
+     * @param name name
+     * @return builder instance
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public @NotNull HeliosTask schedule(@Nullable TaskScheduleContext context) {
-        Objects.requireNonNull(consumer, "consumer");
+    public InstantTaskScheduler name(@NotNull String name) {
+        super.name(name);
+        return this;
+    }
 
-        if (context == null) {
-            context = TaskScheduleContext.defaultContext();
-        }
+    /**
+     * Sets up owner of the task, all live tasks of owner can be cancelled at once
+     * @param owner owner key
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public InstantTaskScheduler owner(@NotNull Object owner) {
+        super.owner(owner);
+        return this;
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of instant task
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull TaskTemplate.Scheduling freeze() {
+        Objects.requireNonNull(consumer, "consumer");
 
-        return context.getSchedulerHandler().schedule(Helios.getPlugin(), consumer, this.createEventHandler(), 0L, -1L);
+        Consumer<HeliosTask> consumer = this.consumer;
+        return (context, eventHandler, owner) -> {
+            HeliosTask task = context.getSchedulerHandler().schedule(context.getPlugin(), consumer, eventHandler, 0L, -1L);
+            return register(task, owner, context);
+        };
     }
 }
@@ -0,0 +1,220 @@
+package gg.phast.helios.scheduling.builders;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.internal.QueuedHeliosTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Abstract builder of tasks which coalesce repeated triggers under a key, extended by
+ * {@link DebouncedTaskScheduler} and {@link ThrottledTaskScheduler}. Every {@link #schedule(TaskScheduleContext)} call
+ * is a trigger, triggers share pending execution and its {@link HeliosTask} handle, and at most one platform task
+ * per window is scheduled no matter how many triggers come, so it works with every {@link TaskSchedulerHandler.Type}.
+ * <p>
+ * Pending execution always runs consumer of the latest trigger, platform tasks are scheduled with
+ * context of the trigger which started the window
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public abstract class KeyedTaskScheduler extends TaskScheduler {
+
+    private Object key;
+    private Long window;
+    private Consumer<HeliosTask> consumer;
+
+    /**
+     * Sets up key which triggers are coalesced under, keys are compared by equals and hash code
+     * and are shared by every builder of the same kind
+     * @param key key (e.g. record of job and player)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public KeyedTaskScheduler key(@NotNull Object key) {
+        Objects.requireNonNull(key, "key");
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * Sets up window of coalescing
+     * @param window window in ticks (must be greater than 0)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public KeyedTaskScheduler window(long window) {
+        Preconditions.checkArgument(window > 0, "window must be greater than 0");
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * Sets up consumer for scheduled task, which will be called when running this task
+     * @param consumer consumer
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public KeyedTaskScheduler execute(@NotNull Consumer<HeliosTask> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        this.consumer = consumer;
+        return this;
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of triggers,
+     * scheduling returns handle of pending execution, shared by all triggers which are coalesced into it
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull TaskTemplate.Scheduling freeze() {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(window, "window");
+        Objects.requireNonNull(consumer, "consumer");
+
+        Object key = this.key;
+        long window = this.window;
+        Consumer<HeliosTask> consumer = this.consumer;
+        return (context, eventHandler, owner) -> trigger(key, window, consumer, context, eventHandler, owner);
+    }
+
+    /**
+     * Triggers the task under key
+     * @param key key
+     * @param window window in ticks, taken from the trigger which created the state
+     * @param consumer consumer
+     * @param context context
+     * @param eventHandler event handler of pending execution
+     * @param owner owner of pending execution, may be null
+     * @return handle of pending execution
+     * @since 1.0-SNAPSHOT
+     */
+    private @NotNull HeliosTask trigger(@NotNull Object key, long window, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskScheduleContext context, @NotNull TaskEventHandler eventHandler, @Nullable Object owner) {
+        Map<Object, KeyState> states = states();
+        while (true) {
+            KeyState state = states.computeIfAbsent(key, stateKey -> new KeyState(stateKey, window));
+            synchronized (state) {
+                // state might have been dropped meanwhile, the trigger belongs to a fresh one
+                if (state.removed) continue;
+
+                state.consumer = consumer;
+                if (state.pending == null || state.pending.isDone()) {
+                    state.eventHandler = eventHandler;
+                    state.pending = QueuedHeliosTask.create(eventHandler);
+                    register(state.pending, owner, context);
+                }
+
+                trigger(state, context);
+                return state.pending;
+            }
+        }
+    }
+
+    /**
+     * Returns states of all keys of this kind of builder
+     * @return key states
+     * @since 1.0-SNAPSHOT
+     */
+    protected abstract @NotNull Map<Object, KeyState> states();
+
+    /**
+     * Handles trigger, called while holding lock of the state
+     * @param state state of key
+     * @param context context of the trigger
+     * @since 1.0-SNAPSHOT
+     */
+    protected abstract void trigger(@NotNull KeyState state, @NotNull TaskScheduleContext context);
+
+    /**
+     * Schedules platform task which calls {@link #fire(KeyState)} after delay,
+     * if it cannot be scheduled, the state is dropped and its pending execution cancelled
+     * @param state state of key
+     * @param context context
+     * @param delay delay in ticks
+     * @since 1.0-SNAPSHOT
+     */
+    protected void arm(@NotNull KeyState state, @NotNull TaskScheduleContext context, long delay) {
+        state.armed = true;
+        state.context = context;
+        try {
+            context.getSchedulerHandler().schedule(context.getPlugin(), platformTask -> fire(state), TaskEventHandler.empty(), delay, -1L);
+        } catch (RuntimeException exception) {
+            // nothing would ever fire, so neither the state nor its pending execution may stay around
+            drop(state);
+            if (state.pending != null && !state.pending.isDone()) {
+                state.pending.cancel();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Called by platform task once the delay passed
+     * @param state state of key
+     * @since 1.0-SNAPSHOT
+     */
+    protected abstract void fire(@NotNull KeyState state);
+
+    /**
+     * Drops the state, next trigger starts from scratch, called while holding lock of the state
+     * @param state state of key
+     * @since 1.0-SNAPSHOT
+     */
+    protected void drop(@NotNull KeyState state) {
+        state.armed = false;
+        state.removed = true;
+        states().remove(state.key, state);
+    }
+
+    /**
+     * Runs pending execution with the latest consumer, called without holding lock of the state
+     * @param task pending execution
+     * @param consumer consumer
+     * @param eventHandler event handler of pending execution
+     * @param waited ticks waited since the execution was created, used for scheduling lag
+     * @since 1.0-SNAPSHOT
+     */
+    protected static void run(@NotNull HeliosTask task, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskEventHandler eventHandler, long waited) {
+        TaskSchedulerHandler.executeTask(task, consumer, eventHandler, waited, -1L);
+    }
+
+    /**
+     * Coalescing state of single key, guarded by its own lock
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    protected static final class KeyState {
+
+        final Object key;
+        final long window;
+        QueuedHeliosTask pending;
+        TaskEventHandler eventHandler;
+        Consumer<HeliosTask> consumer;
+        TaskScheduleContext context;
+        long triggers;
+        long armedTriggers;
+        long waited;
+        boolean armed;
+        boolean removed;
+
+        /**
+         * Constructor
+         * @param key key
+         * @param window window in ticks
+         * @since 1.0-SNAPSHOT
+         */
+        KeyState(@NotNull Object key, long window) {
+            this.key = key;
+            this.window = window;
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package gg.phast.helios.scheduling.builders;
 
 import com.google.common.base.Preconditions;
-import gg.phast.helios.Helios;
 import gg.phast.helios.scheduling.HeliosTask;
-import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.adaptive.AdaptivePeriod;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.priority.TaskPriority;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Repeating task builder, equivalent of {@link org.bukkit.scheduler.BukkitScheduler#runTaskTimer(Plugin, Runnable, long, long)}
@@ -20,8 +24,11 @@ import java.util.function.Consumer;
 public class RepeatingTaskScheduler extends TaskScheduler {
 
     private Long period;
+    private Long periodNanos;
     private Long delay = 0L;
+    private Long delayNanos;
     private Consumer<HeliosTask> consumer;
+    private AdaptivePeriod adaptivePeriod;
 
     /**
      * Sets up period for scheduled task
@@ -32,6 +39,49 @@ public class RepeatingTaskScheduler extends TaskScheduler {
     public RepeatingTaskScheduler period(long period) {
         Preconditions.checkArgument(period > 0, "period must be greater than 0");
         this.period = period;
+        this.periodNanos = null;
+        return this;
+    }
+
+    /**
+     * Sets up wall-clock period for scheduled task, honoured exactly by handlers with
+     * {@link gg.phast.helios.scheduling.handler.TaskSchedulerHandler#isWallClockTiming() wall-clock timing} (e.g. ASYNC, VIRTUAL),
+     * tick based handlers round it up to the nearest whole tick (at least one tick)
+     * @param period period (must be greater than 0)
+     * @param unit time unit of period
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public RepeatingTaskScheduler period(long period, @NotNull TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(period > 0, "period must be greater than 0");
+        this.periodNanos = Math.max(unit.toNanos(period), 1L);
+        this.period = null;
+        return this;
+    }
+
+    /**
+     * Sets up wall-clock period for scheduled task, see {@link #period(long, TimeUnit)}
+     * @param period period (must be positive)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public RepeatingTaskScheduler period(@NotNull Duration period) {
+        Objects.requireNonNull(period, "period");
+        Preconditions.checkArgument(!period.isNegative() && !period.isZero(), "period must be positive");
+        return period(saturatedNanos(period), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sets up load-adaptive period, which replaces fixed period, the task is stretched
+     * between min and max period based on tick duration and its priority
+     * @param adaptivePeriod adaptive period, not shared with any other task (tasks scheduled from template get their own copy)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public RepeatingTaskScheduler adaptive(@NotNull AdaptivePeriod adaptivePeriod) {
+        Objects.requireNonNull(adaptivePeriod, "adaptivePeriod");
+        this.adaptivePeriod = adaptivePeriod;
         return this;
     }
 
@@ -44,9 +94,37 @@ public class RepeatingTaskScheduler extends TaskScheduler {
     public RepeatingTaskScheduler delay(long delay) {
         Preconditions.checkArgument(delay >= 0, "delay must be equals or greater than 0");
         this.delay = delay;
+        this.delayNanos = null;
+        return this;
+    }
+
+    /**
+     * Sets up wall-clock delay for scheduled task, rounded the same way as {@link #period(long, TimeUnit)}
+     * @param delay delay (must be equals or greater than 0)
+     * @param unit time unit of delay
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public RepeatingTaskScheduler delay(long delay, @NotNull TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(delay >= 0, "delay must be equals or greater than 0");
+        this.delayNanos = unit.toNanos(delay);
+        this.delay = null;
         return this;
     }
 
+    /**
+     * Sets up wall-clock delay for scheduled task, see {@link #delay(long, TimeUnit)}
+     * @param delay delay (must not be negative)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public RepeatingTaskScheduler delay(@NotNull Duration delay) {
+        Objects.requireNonNull(delay, "delay");
+        Preconditions.checkArgument(!delay.isNegative(), "delay must not be negative");
+        return delay(saturatedNanos(delay), TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Sets up consumer for scheduled task, which will be called when running this task
      * @param consumer consumer
@@ -60,21 +138,113 @@ public class RepeatingTaskScheduler extends TaskScheduler {
     }
 
     /**
-     * Schedules repeating task with specific context
-     * @param context context
-     * @return helios task
+     * Sets up name of the task, metrics of tasks with the same name are grouped together
+     * @param name name
+     * @return builder instance
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public @NotNull HeliosTask schedule(@Nullable TaskScheduleContext context) {
-        Objects.requireNonNull(period, "period");
-        Objects.requireNonNull(delay, "delay");
+    public RepeatingTaskScheduler name(@NotNull String name) {
+        super.name(name);
+        return this;
+    }
+
+    /**
+     * Sets up owner of the task, all live tasks of owner can be cancelled at once
+     * @param owner owner key
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public RepeatingTaskScheduler owner(@NotNull Object owner) {
+        super.owner(owner);
+        return this;
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of repeating task,
+     * the task is bound to adaptive period instance of this builder
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull TaskTemplate.Scheduling freeze() {
+        AdaptivePeriod adaptivePeriod = this.adaptivePeriod;
+        return freeze(adaptivePeriod == null ? null : () -> adaptivePeriod);
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of repeating task,
+     * adaptive period belongs to single task, so every task scheduled from the template
+     * gets its own adaptive period with the same settings
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull TaskTemplate.Scheduling freezeTemplate() {
+        if (adaptivePeriod == null) return freeze(null);
+
+        long minPeriod = adaptivePeriod.getMinPeriod();
+        long maxPeriod = adaptivePeriod.getMaxPeriod();
+        TaskPriority priority = adaptivePeriod.getPriority();
+        return freeze(() -> AdaptivePeriod.builder()
+                .minPeriod(minPeriod)
+                .maxPeriod(maxPeriod)
+                .priority(priority)
+                .build());
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling of repeating task
+     * @param adaptivePeriods supplier of adaptive period for every scheduled task, null if period is fixed
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    private @NotNull TaskTemplate.Scheduling freeze(@Nullable Supplier<AdaptivePeriod> adaptivePeriods) {
+        if (adaptivePeriods == null && periodNanos == null) {
+            Objects.requireNonNull(period, "period");
+        }
+        if (delayNanos == null) {
+            Objects.requireNonNull(delay, "delay");
+        }
         Objects.requireNonNull(consumer, "consumer");
 
-        if (context == null) {
-            context = TaskScheduleContext.defaultContext();
+        Consumer<HeliosTask> consumer = this.consumer;
+        long period = adaptivePeriods != null ? adaptivePeriod.getMinPeriod() : this.period != null ? this.period : -1L;
+
+        if (delayNanos != null || (periodNanos != null && adaptivePeriods == null)) {
+            long delayNanos = this.delayNanos != null ? this.delayNanos : delay * TaskSchedulerHandler.TICK_NANOS;
+            long periodNanos = adaptivePeriods != null || this.periodNanos == null ? period * TaskSchedulerHandler.TICK_NANOS : this.periodNanos;
+            return (context, eventHandler, owner) -> {
+                HeliosTask task = context.getSchedulerHandler().scheduleNanos(context.getPlugin(), adaptive(adaptivePeriods, consumer), eventHandler, delayNanos, periodNanos);
+                return register(task, owner, context);
+            };
         }
 
-        return context.getSchedulerHandler().schedule(Helios.getPlugin(), consumer, this.createEventHandler(), delay, period);
+        long delay = this.delay;
+        return (context, eventHandler, owner) -> {
+            HeliosTask task = context.getSchedulerHandler().schedule(context.getPlugin(), adaptive(adaptivePeriods, consumer), eventHandler, delay, period);
+            return register(task, owner, context);
+        };
+    }
+
+    /**
+     * Binds adaptive period to the task being scheduled and wraps its consumer,
+     * task is driven at min period and runs which come before the effective period passed are skipped
+     * @param adaptivePeriods supplier of adaptive period, null if period is fixed
+     * @param consumer consumer
+     * @return consumer to schedule
+     * @since 1.0-SNAPSHOT
+     */
+    private static @NotNull Consumer<HeliosTask> adaptive(@Nullable Supplier<AdaptivePeriod> adaptivePeriods, @NotNull Consumer<HeliosTask> consumer) {
+        if (adaptivePeriods == null) return consumer;
+
+        AdaptivePeriod adaptivePeriod = adaptivePeriods.get();
+        adaptivePeriod.bind();
+        return task -> {
+            if (adaptivePeriod.drive()) {
+                consumer.accept(task);
+            }
+        };
     }
 }
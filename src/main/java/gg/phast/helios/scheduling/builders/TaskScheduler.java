@@ -5,18 +5,23 @@ import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
 import gg.phast.helios.scheduling.eventhandler.TaskEventCallData;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
 import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import gg.phast.helios.scheduling.metrics.HeliosMetrics;
+import gg.phast.helios.scheduling.registry.HeliosTaskRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
  * Abstract task scheduler class, which is being extended
- * by {@link InstantTaskScheduler}, {@link DelayedTaskScheduler} and {@link RepeatingTaskScheduler}
+ * by {@link InstantTaskScheduler}, {@link DelayedTaskScheduler}, {@link RepeatingTaskScheduler}, {@link BatchTaskScheduler}
+ * and {@link KeyedTaskScheduler}
  *
  * @author phastgg
  * @since 1.0-SNAPSHOT
@@ -24,6 +29,8 @@ import java.util.function.Consumer;
 public abstract class TaskScheduler {
 
     private final Map<TaskEventType<?>, List<Consumer<? extends TaskEventCallData<?>>>> eventTasks = new HashMap<>();
+    private String name;
+    private Object owner;
 
     /**
      * Constructor
@@ -48,6 +55,31 @@ public abstract class TaskScheduler {
         return this;
     }
 
+    /**
+     * Sets up name of the task, metrics of tasks with the same name are grouped together (see {@link HeliosMetrics})
+     * @param name name
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public TaskScheduler name(@NotNull String name) {
+        Objects.requireNonNull(name, "name");
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Sets up owner of the task (e.g. player, arena), all live tasks of owner can be looked up
+     * or cancelled at once through {@link HeliosTaskRegistry}
+     * @param owner owner key, compared by equals and hash code
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    public TaskScheduler owner(@NotNull Object owner) {
+        Objects.requireNonNull(owner, "owner");
+        this.owner = owner;
+        return this;
+    }
+
     /**
      * Schedules task to run without any context, running on default settings
      * @return helios task
@@ -58,24 +90,91 @@ public abstract class TaskScheduler {
     }
 
     /**
-     * Abstract schedule method with context consumer
+     * Schedules task with specific context, every call validates and captures current settings,
+     * so for scheduling the same task repeatedly, prefer {@link #toTemplate()}
+     * @param context context
      * @return helios task
      * @since 1.0-SNAPSHOT
      */
-    public abstract @NotNull HeliosTask schedule(@Nullable TaskScheduleContext context);
+    public @NotNull HeliosTask schedule(@Nullable TaskScheduleContext context) {
+        if (context == null) {
+            context = TaskScheduleContext.defaultContext();
+        }
+
+        return freeze().schedule(context, createEventHandler(), owner);
+    }
+
+    /**
+     * Creates immutable and thread-safe template of current settings, which can be scheduled
+     * any number of times, tasks scheduled from the template share single compiled event handler
+     * @return new template
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull TaskTemplate toTemplate() {
+        return new TaskTemplate(freezeTemplate(), createEventHandler(), owner);
+    }
+
+    /**
+     * Validates current settings and captures them into scheduling, which can be scheduled any number of times,
+     * by default same as {@link #freeze()}
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    protected @NotNull TaskTemplate.Scheduling freezeTemplate() {
+        return freeze();
+    }
 
     /**
-     * Creates event handler based on data previously specified
+     * Validates current settings and captures them into scheduling, which does not depend on the builder anymore
+     * @return scheduling
+     * @since 1.0-SNAPSHOT
+     */
+    protected abstract @NotNull TaskTemplate.Scheduling freeze();
+
+    /**
+     * Registers freshly scheduled task into {@link HeliosTaskRegistry}
+     * @param task task
+     * @param owner owner of the task, may be null
+     * @param context context the task was scheduled with
+     * @return the same task
+     * @since 1.0-SNAPSHOT
+     */
+    protected static @NotNull HeliosTask register(@NotNull HeliosTask task, @Nullable Object owner, @NotNull TaskScheduleContext context) {
+        HeliosTaskRegistry.register(task, owner, context.getEntity(), context.getRegion());
+        return task;
+    }
+
+    /**
+     * Creates event handler based on data previously specified, listeners are compiled into arrays,
+     * so the builder can be changed afterwards without affecting scheduled task
      * @return task event handler
      * @since 1.0-SNAPSHOT
      */
     @SuppressWarnings("unchecked")
     protected TaskEventHandler createEventHandler() {
+        if (eventTasks.isEmpty() && name == null) {
+            return TaskEventHandler.empty();
+        }
+
         return new TaskEventHandler(
                 (Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>>)
                 (Map<TaskEventType<?>, ?>)
-                eventTasks
+                eventTasks,
+                name
         );
     }
-}
 
+    /**
+     * Converts duration to nanoseconds, durations too long to fit are saturated
+     * @param duration duration
+     * @return nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    protected static long saturatedNanos(@NotNull Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException exception) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+}
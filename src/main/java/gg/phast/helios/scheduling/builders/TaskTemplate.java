@@ -0,0 +1,90 @@
+package gg.phast.helios.scheduling.builders;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable and thread-safe snapshot of {@link TaskScheduler} settings, created by {@link TaskScheduler#toTemplate()}.
+ * Template can be scheduled any number of times from any thread, listeners are compiled into
+ * event handler once and shared by every task scheduled from the template, so rescheduling costs
+ * only the scheduling itself. Changing the builder afterwards does not affect the template
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class TaskTemplate {
+
+    private final Scheduling scheduling;
+    private final TaskEventHandler eventHandler;
+    private final Object owner;
+
+    /**
+     * Constructor, to create new template, use {@link TaskScheduler#toTemplate()}
+     * @param scheduling frozen scheduling of the builder
+     * @param eventHandler frozen event handler
+     * @param owner owner of scheduled tasks, may be null
+     * @since 1.0-SNAPSHOT
+     */
+    TaskTemplate(@NotNull Scheduling scheduling, @NotNull TaskEventHandler eventHandler, @Nullable Object owner) {
+        this.scheduling = scheduling;
+        this.eventHandler = eventHandler;
+        this.owner = owner;
+    }
+
+    /**
+     * Schedules task to run without any context, running on default settings
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull HeliosTask schedule() {
+        return schedule(null);
+    }
+
+    /**
+     * Schedules task with specific context
+     * @param context context
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull HeliosTask schedule(@Nullable TaskScheduleContext context) {
+        if (context == null) {
+            context = TaskScheduleContext.defaultContext();
+        }
+
+        return scheduling.schedule(context, eventHandler, owner);
+    }
+
+    /**
+     * Returns event handler shared by every task scheduled from this template
+     * @return event handler
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public @NotNull TaskEventHandler getEventHandler() {
+        return eventHandler;
+    }
+
+    /**
+     * Scheduling captured from builder, which must not depend on any mutable state of the builder
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    @FunctionalInterface
+    public interface Scheduling {
+
+        /**
+         * Schedules and registers the task
+         * @param context context
+         * @param eventHandler event handler
+         * @param owner owner of the task, may be null
+         * @return helios task
+         * @since 1.0-SNAPSHOT
+         */
+        @NotNull HeliosTask schedule(@NotNull TaskScheduleContext context, @NotNull TaskEventHandler eventHandler, @Nullable Object owner);
+    }
+}
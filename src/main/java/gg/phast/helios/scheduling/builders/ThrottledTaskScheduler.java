@@ -0,0 +1,142 @@
+package gg.phast.helios.scheduling.builders;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.QueuedHeliosTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Throttled task builder, the first trigger under its key runs as soon as possible (leading edge)
+ * and triggers coming during the following window are coalesced into a single execution
+ * once the window passes (trailing edge), so the task runs at most once per window
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class ThrottledTaskScheduler extends KeyedTaskScheduler {
+
+    private final static Map<Object, KeyState> STATES = new ConcurrentHashMap<>();
+
+    /**
+     * Sets up key which triggers are coalesced under, keys are compared by equals and hash code
+     * and are shared by every builder of the same kind
+     * @param key key (e.g. record of job and player)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public ThrottledTaskScheduler key(@NotNull Object key) {
+        super.key(key);
+        return this;
+    }
+
+    /**
+     * Sets up window of coalescing
+     * @param window window in ticks (must be greater than 0)
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public ThrottledTaskScheduler window(long window) {
+        super.window(window);
+        return this;
+    }
+
+    /**
+     * Sets up consumer for scheduled task, which will be called when running this task
+     * @param consumer consumer
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public ThrottledTaskScheduler execute(@NotNull Consumer<HeliosTask> consumer) {
+        super.execute(consumer);
+        return this;
+    }
+
+    /**
+     * Sets up name of the task, metrics of tasks with the same name are grouped together
+     * @param name name
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public ThrottledTaskScheduler name(@NotNull String name) {
+        super.name(name);
+        return this;
+    }
+
+    /**
+     * Sets up owner of the task, all live tasks of owner can be cancelled at once
+     * @param owner owner key
+     * @return builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public ThrottledTaskScheduler owner(@NotNull Object owner) {
+        super.owner(owner);
+        return this;
+    }
+
+    /**
+     * Returns states of all keys of this kind of builder
+     * @return key states
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected @NotNull Map<Object, KeyState> states() {
+        return STATES;
+    }
+
+    /**
+     * Handles trigger, called while holding lock of the state
+     * @param state state of key
+     * @param context context of the trigger
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void trigger(@NotNull KeyState state, @NotNull TaskScheduleContext context) {
+        if (state.armed) return;
+
+        state.waited = 0L;
+        arm(state, context, 0L);
+    }
+
+    /**
+     * Called by platform task once the delay passed
+     * @param state state of key
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void fire(@NotNull KeyState state) {
+        QueuedHeliosTask task;
+        Consumer<HeliosTask> consumer;
+        TaskEventHandler eventHandler;
+        long waited;
+
+        synchronized (state) {
+            if (state.pending == null || state.pending.isDone()) {
+                // nothing was triggered during the window, it can be closed
+                drop(state);
+                return;
+            }
+
+            task = state.pending;
+            consumer = state.consumer;
+            eventHandler = state.eventHandler;
+            waited = state.waited;
+            state.pending = null;
+
+            // keep the window open, triggers coming meanwhile wait for its end
+            state.waited = state.window;
+            arm(state, state.context, state.window);
+        }
+
+        run(task, consumer, eventHandler, waited);
+    }
+}
@@ -1,11 +1,22 @@
 package gg.phast.helios.scheduling.builders.settings;
 
+import gg.phast.helios.Helios;
 import gg.phast.helios.java.holders.ObjectHolder;
 import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.priority.PriorityTaskQueue;
+import gg.phast.helios.scheduling.priority.TaskPriority;
+import gg.phast.helios.scheduling.region.RegionKey;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -16,15 +27,27 @@ import java.util.function.Consumer;
  */
 public class TaskScheduleContext {
 
+    private final static Map<TaskSchedulerHandler.Type<Void>, TaskScheduleContext> SHARED_CONTEXTS = new ConcurrentHashMap<>();
+    private final static TaskScheduleContext DEFAULT_CONTEXT = of(TaskSchedulerHandler.Type.SYNC);
+
     private final TaskSchedulerHandler schedulerHandler;
+    private final Plugin plugin;
+    private final Entity entity;
+    private final RegionKey region;
 
     /**
      * Internal constructor which can be "accessed" through {@link #builder()}
      * @param schedulerHandler scheduler handler
+     * @param plugin plugin owning scheduled tasks, null for {@link Helios#getPlugin()}
+     * @param entity entity the tasks run on, null if tasks are not entity scheduled
+     * @param region region the tasks run in, null if tasks are not region scheduled
      * @since 1.0-SNAPSHOT
      */
-    private TaskScheduleContext(@NotNull TaskSchedulerHandler schedulerHandler) {
+    private TaskScheduleContext(@NotNull TaskSchedulerHandler schedulerHandler, @Nullable Plugin plugin, @Nullable Entity entity, @Nullable RegionKey region) {
         this.schedulerHandler = schedulerHandler;
+        this.plugin = plugin;
+        this.entity = entity;
+        this.region = region;
     }
 
     /**
@@ -36,6 +59,35 @@ public class TaskScheduleContext {
         return schedulerHandler;
     }
 
+    /**
+     * Returns plugin which owns tasks scheduled with this context
+     * @return plugin set in the builder, otherwise {@link Helios#getPlugin()},
+     *         or null if none was set and scheduler handler does not require plugin
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable Plugin getPlugin() {
+        if (plugin != null) return plugin;
+        return schedulerHandler.isPluginRequired() ? Helios.getPlugin() : null;
+    }
+
+    /**
+     * Returns entity the tasks run on, used for indexing tasks
+     * @return entity or null if tasks are not scheduled with {@link TaskSchedulerHandler.Type#ENTITY}
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns region the tasks run in, used for indexing tasks
+     * @return region or null if tasks are not scheduled with {@link TaskSchedulerHandler.Type#REGION}
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable RegionKey getRegion() {
+        return region;
+    }
+
     /**
      * Creates new builder for creating custom context
      * @return context builder
@@ -47,12 +99,37 @@ public class TaskScheduleContext {
     }
 
     /**
-     * Creates and returns default context
+     * Returns shared default context (sync)
      * @return default context
      * @since 1.0-SNAPSHOT
      */
     public static @NotNull TaskScheduleContext defaultContext() {
-        return builder().build();
+        return DEFAULT_CONTEXT;
+    }
+
+    /**
+     * Returns shared context for scheduler type without a value (e.g. for ASYNC handler type),
+     * contexts are immutable so the same instance is returned for every call
+     * @param type type
+     * @return shared context
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull TaskScheduleContext of(TaskSchedulerHandler.@NotNull Type<Void> type) {
+        if (!TaskSchedulerHandler.Type.isValidType(type)) {
+            throw new IllegalArgumentException("Type is not valid!");
+        }
+
+        return SHARED_CONTEXTS.computeIfAbsent(type, TaskScheduleContext::create);
+    }
+
+    /**
+     * Creates new context for scheduler type without a value
+     * @param type type
+     * @return new context
+     * @since 1.0-SNAPSHOT
+     */
+    private static @NotNull TaskScheduleContext create(TaskSchedulerHandler.@NotNull Type<Void> type) {
+        return new TaskScheduleContext(type.createInstance(null), null, null, null);
     }
 
     /**
@@ -64,6 +141,9 @@ public class TaskScheduleContext {
     public static class Builder {
 
         private TaskSchedulerHandler schedulerHandler;
+        private Plugin plugin;
+        private Entity entity;
+        private RegionKey region;
 
         /**
          * Default constructor
@@ -86,6 +166,8 @@ public class TaskScheduleContext {
             }
 
             schedulerHandler = type.createInstance(value);
+            entity = value instanceof Entity typeEntity ? typeEntity : null;
+            region = value instanceof Location location ? RegionKey.of(location) : null;
             return this;
         }
 
@@ -105,18 +187,64 @@ public class TaskScheduleContext {
             }
 
             schedulerHandler = type.createInstance(null);
+            entity = null;
+            region = null;
+            return this;
+        }
+
+        /**
+         * Sets custom scheduler handler which is used for scheduling,
+         * suited for environments without running server (e.g. benchmarks)
+         * @param schedulerHandler scheduler handler
+         * @return this builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder setSchedulerHandler(@NotNull TaskSchedulerHandler schedulerHandler) {
+            Objects.requireNonNull(schedulerHandler, "schedulerHandler");
+            this.schedulerHandler = schedulerHandler;
+            entity = null;
+            region = null;
+            return this;
+        }
+
+        /**
+         * Sets priority class of server thread queue which scheduled tasks are enqueued into,
+         * instant task rejected by overflow policy of the class fails to schedule
+         * with {@link java.util.concurrent.RejectedExecutionException}
+         * @param queue priority task queue
+         * @param priority priority class
+         * @return this builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder priorityQueue(@NotNull PriorityTaskQueue queue, @NotNull TaskPriority priority) {
+            Objects.requireNonNull(queue, "queue");
+            return setSchedulerHandler(queue.getHandler(priority));
+        }
+
+        /**
+         * Sets plugin which owns scheduled tasks (def: {@link Helios#getPlugin()})
+         * @param plugin plugin
+         * @return this builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder plugin(@NotNull Plugin plugin) {
+            Objects.requireNonNull(plugin, "plugin");
+            this.plugin = plugin;
             return this;
         }
 
         /**
-         * Builds new context based on the data in this builder
-         * @return new context
+         * Builds new context based on the data in this builder,
+         * if neither scheduler handler nor plugin was set, shared default context is returned
+         * @return context
          * @since 1.0-SNAPSHOT
          */
         public @NotNull TaskScheduleContext build() {
-            TaskSchedulerHandler schedulerHandler = this.schedulerHandler == null ? TaskSchedulerHandler.Type.SYNC.createInstance(null) : this.schedulerHandler;
+            if (schedulerHandler == null && plugin == null) {
+                return DEFAULT_CONTEXT;
+            }
 
-            return new TaskScheduleContext(schedulerHandler);
+            return new TaskScheduleContext(schedulerHandler != null ? schedulerHandler : DEFAULT_CONTEXT.getSchedulerHandler(), plugin, entity, region);
         }
     }
 }
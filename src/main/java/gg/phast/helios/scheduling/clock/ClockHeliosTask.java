@@ -0,0 +1,59 @@
+package gg.phast.helios.scheduling.clock;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+
+import java.util.function.Consumer;
+
+/**
+ * Virtual clock implementation of abstract Helios Task, which is created to work with {@link VirtualClock}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+final class ClockHeliosTask extends HeliosTask {
+
+    private final Consumer<HeliosTask> consumer;
+
+    // clock state, guarded by the clock
+    final VirtualClock.Lane lane;
+    final long delay;
+    final long period;
+    long deadline;
+    long sequence;
+    boolean queued;
+
+    /**
+     * Constructor
+     * @param eventHandler event handler used for triggering cancel
+     * @param lane lane running the task
+     * @param consumer consumer called whenever task is due
+     * @param delay delay in ticks
+     * @param period period in ticks, or -1 if task is not repeating
+     * @since 1.0-SNAPSHOT
+     */
+    ClockHeliosTask(TaskEventHandler eventHandler, VirtualClock.Lane lane, Consumer<HeliosTask> consumer, long delay, long period) {
+        super(eventHandler);
+        this.lane = lane;
+        this.consumer = consumer;
+        this.delay = delay;
+        this.period = period;
+    }
+
+    /**
+     * Runs the consumer of this task
+     * @since 1.0-SNAPSHOT
+     */
+    void run() {
+        consumer.accept(this);
+    }
+
+    /**
+     * Hands the task over to the clock for removal
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void cancelPlatformTask() {
+        lane.getClock().remove(this);
+    }
+}
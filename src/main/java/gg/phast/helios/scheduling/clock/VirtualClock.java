@@ -0,0 +1,351 @@
+package gg.phast.helios.scheduling.clock;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Manually advanced tick clock, which lets the real task builders run on a headless JVM
+ * without any server, e.g. for replaying scheduling loads or checking event ordering in CI.
+ * <p>
+ * Tasks are scheduled through {@link TaskSchedulerHandler.Type#VIRTUAL_CLOCK} with one of the clock lanes,
+ * {@link #syncLane()} or {@link #asyncLane()}, and run only when the clock is advanced via {@link #advance(long)}.
+ * Due tasks are handed over to the executor of their lane in order of their deadline, tasks with the same deadline
+ * in order they were scheduled in. Both lanes run tasks inline on the advancing thread by default,
+ * which makes the whole simulation deterministic.
+ * <p>
+ * Delay 0 is treated as "next tick", same as bukkit does, so tasks scheduling other tasks never run within the same tick.
+ * To create new clock, use {@link #builder()}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class VirtualClock {
+
+    private final static Comparator<ClockHeliosTask> ORDER = Comparator
+            .<ClockHeliosTask>comparingLong(task -> task.deadline)
+            .thenComparingLong(task -> task.sequence);
+
+    private final PriorityQueue<ClockHeliosTask> timers = new PriorityQueue<>(ORDER);
+    private final Lane syncLane;
+    private final Lane asyncLane;
+
+    private long currentTick;
+    private long sequence;
+    private int cancelledTimers;
+    private long dispatchedRuns;
+
+    /**
+     * Constructor, to create new clock, use builder {@link #builder()}
+     * @param syncExecutor executor of sync lane
+     * @param asyncExecutor executor of async lane
+     * @since 1.0-SNAPSHOT
+     */
+    private VirtualClock(@NotNull Executor syncExecutor, @NotNull Executor asyncExecutor) {
+        this.syncLane = new Lane(this, syncExecutor, "sync");
+        this.asyncLane = new Lane(this, asyncExecutor, "async");
+    }
+
+    /**
+     * Advances the clock by one tick
+     * @since 1.0-SNAPSHOT
+     */
+    public void tick() {
+        advance(1L);
+    }
+
+    /**
+     * Advances the clock tick by tick, handing every due task over to its lane,
+     * must not be called from multiple threads at once.
+     * If a task throws, the rest of its tick is still handed over and the first throwable is rethrown
+     * once the tick is done, later ticks are not advanced
+     * @param ticks amount of ticks (must be equals or greater than 0)
+     * @since 1.0-SNAPSHOT
+     */
+    public void advance(long ticks) {
+        Preconditions.checkArgument(ticks >= 0, "ticks must be equals or greater than 0");
+
+        List<ClockHeliosTask> due = new ArrayList<>();
+        for (long tick = 0; tick < ticks; tick++) {
+            collectDue(due);
+
+            Throwable failure = null;
+            for (ClockHeliosTask task : due) {
+                try {
+                    task.lane.executor.execute(task::run);
+                } catch (Throwable throwable) {
+                    if (failure == null) {
+                        failure = throwable;
+                    }
+                    else {
+                        failure.addSuppressed(throwable);
+                    }
+                }
+            }
+
+            due.clear();
+            if (failure != null) {
+                Throwables.throwIfUnchecked(failure);
+                throw new IllegalStateException(failure);
+            }
+        }
+    }
+
+    /**
+     * Moves to the next tick and collects every task which is due, repeating tasks are planned again
+     * @param due list collecting due tasks
+     * @since 1.0-SNAPSHOT
+     */
+    private synchronized void collectDue(@NotNull List<ClockHeliosTask> due) {
+        long tick = ++currentTick;
+
+        ClockHeliosTask task;
+        while ((task = timers.peek()) != null && task.deadline <= tick) {
+            timers.poll();
+            task.queued = false;
+
+            if (task.isCancelled()) {
+                cancelledTimers--;
+                continue;
+            }
+
+            due.add(task);
+            dispatchedRuns++;
+        }
+
+        // repeating tasks are planned after collecting, so period never lets them run twice within single tick
+        for (ClockHeliosTask dueTask : due) {
+            if (dueTask.period > 0) {
+                dueTask.deadline = tick + dueTask.period;
+                enqueue(dueTask);
+            }
+        }
+    }
+
+    /**
+     * Adds task to the clock, for internal API use
+     * @param task task
+     * @since 1.0-SNAPSHOT
+     */
+    synchronized void add(@NotNull ClockHeliosTask task) {
+        task.deadline = currentTick + Math.max(task.delay, 1L);
+        enqueue(task);
+    }
+
+    /**
+     * Marks queued task as cancelled, it is dropped lazily once it becomes due,
+     * so bursts of cancels do not have to search the queue
+     * @param task task
+     * @since 1.0-SNAPSHOT
+     */
+    synchronized void remove(@NotNull ClockHeliosTask task) {
+        if (task.queued) {
+            cancelledTimers++;
+        }
+    }
+
+    /**
+     * Places task into the queue
+     * @param task task
+     * @since 1.0-SNAPSHOT
+     */
+    private void enqueue(@NotNull ClockHeliosTask task) {
+        task.sequence = sequence++;
+        task.queued = true;
+        timers.add(task);
+    }
+
+    /**
+     * Returns amount of ticks the clock was advanced by
+     * @return current tick
+     * @since 1.0-SNAPSHOT
+     */
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns amount of tasks waiting for their next run
+     * @return pending tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public synchronized int getPendingTasks() {
+        return timers.size() - cancelledTimers;
+    }
+
+    /**
+     * Returns amount of runs handed over to the lanes since the clock was created
+     * @return dispatched runs
+     * @since 1.0-SNAPSHOT
+     */
+    public synchronized long getDispatchedRuns() {
+        return dispatchedRuns;
+    }
+
+    /**
+     * Returns lane which stands for the main thread
+     * @return sync lane
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull Lane syncLane() {
+        return syncLane;
+    }
+
+    /**
+     * Returns lane which stands for async threads
+     * @return async lane
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull Lane asyncLane() {
+        return asyncLane;
+    }
+
+    /**
+     * Creates new builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull VirtualClock.Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Lane of the clock, tasks of single lane are run by the same executor
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static final class Lane {
+
+        private final VirtualClock clock;
+        private final Executor executor;
+        private final String name;
+        private final TaskScheduleContext context;
+
+        /**
+         * Constructor
+         * @param clock clock
+         * @param executor executor running due tasks
+         * @param name name
+         * @since 1.0-SNAPSHOT
+         */
+        private Lane(@NotNull VirtualClock clock, @NotNull Executor executor, @NotNull String name) {
+            this.clock = clock;
+            this.executor = executor;
+            this.name = name;
+            this.context = TaskScheduleContext.builder()
+                    .setSchedulerHandler(TaskSchedulerHandler.Type.VIRTUAL_CLOCK, this)
+                    .build();
+        }
+
+        /**
+         * Schedules task on this lane, for internal API use
+         * @param eventHandler event handler
+         * @param consumer consumer
+         * @param delay delay in ticks
+         * @param period period in ticks, or -1 if task is not repeating
+         * @return helios task
+         * @since 1.0-SNAPSHOT
+         */
+        @ApiStatus.Internal
+        public @NotNull HeliosTask schedule(@NotNull TaskEventHandler eventHandler, @NotNull Consumer<HeliosTask> consumer, long delay, long period) {
+            ClockHeliosTask task = new ClockHeliosTask(eventHandler, this, consumer, delay, period);
+            clock.add(task);
+            return task;
+        }
+
+        /**
+         * Returns context scheduling tasks on this lane, which can be passed to any task builder
+         * @return context
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull TaskScheduleContext context() {
+            return context;
+        }
+
+        /**
+         * Returns clock of this lane
+         * @return clock
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull VirtualClock getClock() {
+            return clock;
+        }
+
+        /**
+         * Returns name of this lane
+         * @return name
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Builder which helps us create the clock
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static class Builder {
+
+        private Executor syncExecutor = Runnable::run;
+        private Executor asyncExecutor = Runnable::run;
+
+        /**
+         * Constructor
+         * @since 1.0-SNAPSHOT
+         */
+        protected Builder() {
+        }
+
+        /**
+         * Sets up executor running tasks of sync lane
+         * @param executor executor (def: inline on the advancing thread)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder syncLane(@NotNull Executor executor) {
+            Objects.requireNonNull(executor, "executor");
+            this.syncExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Sets up executor running tasks of async lane, e.g. thread pool for measuring contention
+         * @param executor executor (def: inline on the advancing thread)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder asyncLane(@NotNull Executor executor) {
+            Objects.requireNonNull(executor, "executor");
+            this.asyncExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Creates new clock, stopped at tick 0
+         * @return new virtual clock
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull VirtualClock build() {
+            return new VirtualClock(syncExecutor, asyncExecutor);
+        }
+    }
+}
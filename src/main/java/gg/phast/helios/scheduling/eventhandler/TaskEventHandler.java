@@ -1,35 +1,140 @@
 package gg.phast.helios.scheduling.eventhandler;
 
 import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.metrics.HeliosMetrics;
+import gg.phast.helios.scheduling.metrics.TaskMetrics;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 /**
- * Event handler designed for being used when scheduling task
+ * Event handler designed for being used when scheduling task,
+ * listeners are compiled into per-type arrays when the handler is created,
+ * so changes of the original map do not affect tasks which are already scheduled.
+ * <p>
+ * Triggering type without listeners costs a single array length check,
+ * triggering type with listeners and without data does not allocate either.
+ * Handler also carries name of the task, which its metrics are grouped by
  *
  * @author phastgg
  * @since 1.0-SNAPSHOT
  */
 public final class TaskEventHandler {
 
-    private final Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> map;
+    private final static Consumer<TaskEventCallData<?>>[] NO_LISTENERS = listenerArray(0);
+    private final static TaskEventHandler EMPTY = new TaskEventHandler(null);
+
+    private final Consumer<TaskEventCallData<?>>[][] listeners;
+    private final String name;
+    private TaskMetrics metrics;
 
     /**
      * Constructor
-     * @param map map containing all event consumers
+     * @param map map containing all event consumers, copied into arrays
      * @since 1.0-SNAPSHOT
      */
     public TaskEventHandler(Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> map) {
-        this.map = map == null ? new HashMap<>() : map;
+        this(map, null);
+    }
+
+    /**
+     * Constructor
+     * @param map map containing all event consumers, copied into arrays
+     * @param name name of the task, used for grouping metrics
+     * @since 1.0-SNAPSHOT
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TaskEventHandler(Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> map, @Nullable String name) {
+        this.name = name;
+        this.listeners = new Consumer[TaskEventType.COUNT][];
+
+        for (int id = 0; id < TaskEventType.COUNT; id++) {
+            listeners[id] = NO_LISTENERS;
+        }
+
+        if (map != null) {
+            map.forEach((eventType, consumers) -> {
+                if (consumers != null && !consumers.isEmpty()) {
+                    listeners[eventType.getId()] = consumers.toArray(listenerArray(consumers.size()));
+                }
+            });
+        }
     }
 
+    /**
+     * Returns whether any listener listens to specific event type
+     * @param eventType event type
+     * @return whether there is a listener
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean hasListeners(@NotNull TaskEventType<?> eventType) {
+        return listeners[eventType.getId()].length != 0;
+    }
+
+    /**
+     * Triggers event, calling all listeners of its type in order they were registered
+     * @param task task
+     * @param eventType event type
+     * @param data data of the event
+     * @param <T> generic
+     * @since 1.0-SNAPSHOT
+     */
     public <T> void triggerEvent(@NotNull final HeliosTask task, @NotNull TaskEventType<T> eventType, @Nullable final T data) {
-        TaskEventCallData<T> callData = new TaskEventCallData<>(task, data);
-        map.get(eventType).forEach(caller -> caller.accept(callData));
+        Consumer<TaskEventCallData<?>>[] listeners = this.listeners[eventType.getId()];
+        if (listeners.length == 0) return;
+
+        TaskEventCallData<?> callData = data == null ? task.getEmptyCallData() : new TaskEventCallData<>(task, data);
+        for (Consumer<TaskEventCallData<?>> listener : listeners) {
+            listener.accept(callData);
+        }
+    }
+
+    /**
+     * Returns name of the task
+     * @return name or null if task is unnamed
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable String getName() {
+        return name;
+    }
+
+    /**
+     * Returns metrics recorder of the task group, resolved once and cached, for internal API use
+     * @return metrics recorder
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public @NotNull TaskMetrics getMetrics() {
+        TaskMetrics metrics = this.metrics;
+        if (metrics == null) {
+            // recorders are cached by name, so racing threads resolve the same instance
+            metrics = HeliosMetrics.recorder(name);
+            this.metrics = metrics;
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns shared event handler without any listeners
+     * @return empty event handler
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull TaskEventHandler empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates new listener array
+     * @param size size
+     * @return new array
+     * @since 1.0-SNAPSHOT
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Consumer<TaskEventCallData<?>>[] listenerArray(int size) {
+        return new Consumer[size];
     }
 }
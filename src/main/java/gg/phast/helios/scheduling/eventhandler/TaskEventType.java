@@ -16,7 +16,8 @@ public class TaskEventType<T> {
      */
     public final static TaskEventType<Void> FINISH;
     /**
-     * Cancel type, called when task is cancelled no matter what state it is in
+     * Cancel type, called once when task is cancelled no matter whether it is waiting or running,
+     * cancelling task which already finished does not trigger it
      * <strong>It's recommended to check it's state</strong>
      */
     public final static TaskEventType<Void> CANCEL;
@@ -25,28 +26,46 @@ public class TaskEventType<T> {
      */
     public final static TaskEventType<Exception> EXCEPTION;
     /**
-     * Another cancel type, called only when using Entity Scheduling and entity is removed before the runnable is called
+     * Another cancel type, called only when using Entity Scheduling and entity is removed before the runnable is called,
+     * task is considered cancelled afterwards, but {@link #CANCEL} is not triggered
      */
     public final static TaskEventType<Void> RETIRED;
 
+    /**
+     * Amount of existing types, ids of types are in range from 0 (inclusive) to this value (exclusive)
+     */
+    public final static int COUNT = 4;
+
     static {
-        FINISH = new TaskEventType<>(void.class);
-        CANCEL = new TaskEventType<>(void.class);
-        EXCEPTION = new TaskEventType<>(Exception.class);
-        RETIRED = new TaskEventType<>(void.class);
+        FINISH = new TaskEventType<>(0, void.class);
+        CANCEL = new TaskEventType<>(1, void.class);
+        EXCEPTION = new TaskEventType<>(2, Exception.class);
+        RETIRED = new TaskEventType<>(3, void.class);
     }
 
+    private final int id;
     private final Class<T> dataClass;
 
     /**
      * Constructor
+     * @param id unique id used for indexing listeners
      * @param dataClass data class
      * @since 1.0-SNAPSHOT
      */
-    private TaskEventType(final @NotNull Class<T> dataClass) {
+    private TaskEventType(final int id, final @NotNull Class<T> dataClass) {
+        this.id = id;
         this.dataClass = dataClass;
     }
 
+    /**
+     * Returns unique id of this type, used for indexing listeners
+     * @return id
+     * @since 1.0-SNAPSHOT
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Returns data class
      * @return data class
@@ -0,0 +1,533 @@
+package gg.phast.helios.scheduling.future;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventCallData;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import gg.phast.helios.scheduling.handler.EntitySchedulerHandler;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Future which is completed by a task scheduled via helios scheduling api, stages can be chained
+ * across different {@link TaskSchedulerHandler.Type}s, e.g. load data async, apply it on the main thread
+ * and save it async again, without nesting schedule calls or blocking any thread.
+ * <p>
+ * Every stage is a single object, which is scheduled as instant task on its context once
+ * the previous stage completes. Failure or cancellation of a stage skips all stages depending on it
+ * (except {@link #handle(TaskScheduleContext, BiFunction)}). Cancelling a stage cancels its
+ * {@link HeliosTask} and detaches it from the stage it depends on, which keeps running for its other dependents.
+ * To start the chain, use {@link #supply(TaskScheduleContext, Supplier)} or one of its shortcuts.
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ * @param <T> type of result
+ */
+public final class HeliosFuture<T> {
+
+    private final static VarHandle RESULT;
+    private final static VarHandle DEPENDENTS;
+
+    private final static int KIND_SUPPLY = 0;
+    private final static int KIND_APPLY = 1;
+    private final static int KIND_ACCEPT = 2;
+    private final static int KIND_HANDLE = 3;
+
+    private final static Object NULL_RESULT = new Object();
+    private final static HeliosFuture<?> COMPLETED_STACK = new HeliosFuture<>(null, null, null, KIND_SUPPLY);
+    private final static TaskEventHandler NO_EVENTS = TaskEventHandler.empty();
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            RESULT = lookup.findVarHandle(HeliosFuture.class, "result", Object.class);
+            DEPENDENTS = lookup.findVarHandle(HeliosFuture.class, "dependents", HeliosFuture.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final HeliosFuture<?> source;
+    private final TaskScheduleContext context;
+    private final Object function;
+    private final int kind;
+
+    private volatile Object result;
+    private volatile HeliosFuture<?> dependents;
+    private HeliosFuture<?> nextDependent;
+    private volatile HeliosTask task;
+
+    /**
+     * Constructor
+     * @param source stage this stage depends on, null if this is the first stage
+     * @param context context which this stage is run in
+     * @param function function of this stage, type depends on kind
+     * @param kind kind of this stage
+     * @since 1.0-SNAPSHOT
+     */
+    private HeliosFuture(HeliosFuture<?> source, TaskScheduleContext context, Object function, int kind) {
+        this.source = source;
+        this.context = context;
+        this.function = function;
+        this.kind = kind;
+    }
+
+    /**
+     * Starts new chain by running supplier in specific context
+     * @param context context
+     * @param supplier supplier producing the result
+     * @return new future
+     * @param <T> type of result
+     * @since 1.0-SNAPSHOT
+     */
+    public static <T> @NotNull HeliosFuture<T> supply(@NotNull TaskScheduleContext context, @NotNull Supplier<? extends T> supplier) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(supplier, "supplier");
+
+        HeliosFuture<T> future = new HeliosFuture<>(null, context, supplier, KIND_SUPPLY);
+        future.submit();
+        return future;
+    }
+
+    /**
+     * Starts new chain by running supplier on the main thread
+     * @param supplier supplier producing the result
+     * @return new future
+     * @param <T> type of result
+     * @since 1.0-SNAPSHOT
+     */
+    public static <T> @NotNull HeliosFuture<T> supplySync(@NotNull Supplier<? extends T> supplier) {
+        return supply(TaskScheduleContext.of(TaskSchedulerHandler.Type.SYNC), supplier);
+    }
+
+    /**
+     * Starts new chain by running supplier on the side thread
+     * @param supplier supplier producing the result
+     * @return new future
+     * @param <T> type of result
+     * @since 1.0-SNAPSHOT
+     */
+    public static <T> @NotNull HeliosFuture<T> supplyAsync(@NotNull Supplier<? extends T> supplier) {
+        return supply(TaskScheduleContext.of(TaskSchedulerHandler.Type.ASYNC), supplier);
+    }
+
+    /**
+     * Starts new chain by running supplier in the context of entity
+     * @param entity entity
+     * @param supplier supplier producing the result
+     * @return new future
+     * @param <T> type of result
+     * @since 1.0-SNAPSHOT
+     */
+    public static <T> @NotNull HeliosFuture<T> supplyAt(@NotNull Entity entity, @NotNull Supplier<? extends T> supplier) {
+        return supply(entityContext(entity), supplier);
+    }
+
+    /**
+     * Creates future which is already completed with value
+     * @param value value
+     * @return new completed future
+     * @param <T> type of result
+     * @since 1.0-SNAPSHOT
+     */
+    public static <T> @NotNull HeliosFuture<T> completed(@Nullable T value) {
+        HeliosFuture<T> future = new HeliosFuture<>(null, null, null, KIND_SUPPLY);
+        future.complete(value == null ? NULL_RESULT : value);
+        return future;
+    }
+
+    /**
+     * Creates future which is completed from outside of the chain, for use within the package
+     * @return new incomplete future
+     * @param <T> type of result
+     * @since 1.0-SNAPSHOT
+     */
+    static <T> @NotNull HeliosFuture<T> incomplete() {
+        return new HeliosFuture<>(null, null, null, KIND_SUPPLY);
+    }
+
+    /**
+     * Completes future created by {@link #incomplete()} with value
+     * @param value value
+     * @return whether this call completed the future
+     * @since 1.0-SNAPSHOT
+     */
+    boolean completeValue(@Nullable T value) {
+        return complete(value == null ? NULL_RESULT : value);
+    }
+
+    /**
+     * Completes future created by {@link #incomplete()} with failure
+     * @param throwable cause
+     * @return whether this call completed the future
+     * @since 1.0-SNAPSHOT
+     */
+    boolean completeFailure(@NotNull Throwable throwable) {
+        return complete(new Failure(throwable, throwable instanceof CancellationException));
+    }
+
+    /**
+     * Applies function to the result of this stage in specific context
+     * @param context context
+     * @param function function
+     * @return new stage
+     * @param <R> type of new result
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<R> thenApply(@NotNull TaskScheduleContext context, @NotNull Function<? super T, ? extends R> function) {
+        return then(context, function, KIND_APPLY);
+    }
+
+    /**
+     * Applies function to the result of this stage on the main thread
+     * @param function function
+     * @return new stage
+     * @param <R> type of new result
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<R> thenApplySync(@NotNull Function<? super T, ? extends R> function) {
+        return thenApply(TaskScheduleContext.of(TaskSchedulerHandler.Type.SYNC), function);
+    }
+
+    /**
+     * Applies function to the result of this stage on the side thread
+     * @param function function
+     * @return new stage
+     * @param <R> type of new result
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<R> thenApplyAsync(@NotNull Function<? super T, ? extends R> function) {
+        return thenApply(TaskScheduleContext.of(TaskSchedulerHandler.Type.ASYNC), function);
+    }
+
+    /**
+     * Applies function to the result of this stage in the context of entity
+     * @param entity entity
+     * @param function function
+     * @return new stage
+     * @param <R> type of new result
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<R> thenApplyAt(@NotNull Entity entity, @NotNull Function<? super T, ? extends R> function) {
+        return thenApply(entityContext(entity), function);
+    }
+
+    /**
+     * Consumes the result of this stage in specific context
+     * @param context context
+     * @param consumer consumer
+     * @return new stage
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull HeliosFuture<Void> thenAccept(@NotNull TaskScheduleContext context, @NotNull Consumer<? super T> consumer) {
+        return then(context, consumer, KIND_ACCEPT);
+    }
+
+    /**
+     * Consumes the result of this stage on the main thread
+     * @param consumer consumer
+     * @return new stage
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull HeliosFuture<Void> thenAcceptSync(@NotNull Consumer<? super T> consumer) {
+        return thenAccept(TaskScheduleContext.of(TaskSchedulerHandler.Type.SYNC), consumer);
+    }
+
+    /**
+     * Consumes the result of this stage on the side thread
+     * @param consumer consumer
+     * @return new stage
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull HeliosFuture<Void> thenAcceptAsync(@NotNull Consumer<? super T> consumer) {
+        return thenAccept(TaskScheduleContext.of(TaskSchedulerHandler.Type.ASYNC), consumer);
+    }
+
+    /**
+     * Consumes the result of this stage in the context of entity
+     * @param entity entity
+     * @param consumer consumer
+     * @return new stage
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull HeliosFuture<Void> thenAcceptAt(@NotNull Entity entity, @NotNull Consumer<? super T> consumer) {
+        return thenAccept(entityContext(entity), consumer);
+    }
+
+    /**
+     * Handles either result or failure of this stage in specific context,
+     * unlike other stages this one runs even if this stage failed or was cancelled
+     * @param context context
+     * @param function function receiving result (null if failed) and failure (null if succeeded)
+     * @return new stage
+     * @param <R> type of new result
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<R> handle(@NotNull TaskScheduleContext context, @NotNull BiFunction<? super T, Throwable, ? extends R> function) {
+        return then(context, function, KIND_HANDLE);
+    }
+
+    /**
+     * Cancels this stage and its task, stage this stage depends on is not affected
+     * (completing it does not run this stage anymore), stages depending on this stage fail with {@link CancellationException}
+     * @return whether this call cancelled the stage
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean cancel() {
+        if (!complete(new Failure(new CancellationException("Future was cancelled"), true))) {
+            return false;
+        }
+
+        HeliosTask task = this.task;
+        if (task != null && !task.isCancelled()) {
+            task.cancel();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether this stage is completed, no matter whether successfully or not
+     * @return whether stage is completed
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isDone() {
+        return result != null;
+    }
+
+    /**
+     * Returns whether this stage was cancelled
+     * @return whether stage is cancelled
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isCancelled() {
+        return result instanceof Failure failure && failure.cancelled();
+    }
+
+    /**
+     * Returns whether this stage completed with failure (including cancellation)
+     * @return whether stage failed
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isCompletedExceptionally() {
+        return result instanceof Failure;
+    }
+
+    /**
+     * Returns result of this stage without waiting
+     * @param valueIfAbsent value returned if stage is not completed or failed
+     * @return result or valueIfAbsent
+     * @since 1.0-SNAPSHOT
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T getNow(@Nullable T valueIfAbsent) {
+        Object result = this.result;
+        if (result == null || result instanceof Failure) return valueIfAbsent;
+        return result == NULL_RESULT ? null : (T) result;
+    }
+
+    /**
+     * Returns failure of this stage
+     * @return failure or null if stage is not completed or succeeded
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable Throwable getFailure() {
+        return result instanceof Failure failure ? failure.throwable() : null;
+    }
+
+    /**
+     * Returns task which is currently running (or did run) this stage
+     * @return task or null if stage was not scheduled yet
+     * @since 1.0-SNAPSHOT
+     */
+    public @Nullable HeliosTask getTask() {
+        return task;
+    }
+
+    /**
+     * Runs this stage, called by the scheduled task
+     * @param task task
+     * @since 1.0-SNAPSHOT
+     */
+    @SuppressWarnings("unchecked")
+    private void run(HeliosTask task) {
+        if (result != null) return;
+        this.task = task;
+
+        Object input = source == null ? null : source.result;
+        Object output;
+
+        try {
+            switch (kind) {
+                case KIND_SUPPLY -> output = ((Supplier<Object>) function).get();
+                case KIND_APPLY -> output = ((Function<Object, Object>) function).apply(unwrap(input));
+                case KIND_ACCEPT -> {
+                    ((Consumer<Object>) function).accept(unwrap(input));
+                    output = null;
+                }
+                default -> {
+                    Throwable failure = input instanceof Failure f ? f.throwable() : null;
+                    output = ((BiFunction<Object, Throwable, Object>) function).apply(failure == null ? unwrap(input) : null, failure);
+                }
+            }
+        } catch (Throwable throwable) {
+            complete(new Failure(throwable, false));
+            return;
+        }
+
+        complete(output == null ? NULL_RESULT : output);
+    }
+
+    /**
+     * Creates new stage depending on this one
+     * @param context context of new stage
+     * @param function function of new stage
+     * @param kind kind of new stage
+     * @return new stage
+     * @param <R> type of new result
+     * @since 1.0-SNAPSHOT
+     */
+    private <R> @NotNull HeliosFuture<R> then(@NotNull TaskScheduleContext context, @NotNull Object function, int kind) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(function, "function");
+
+        HeliosFuture<R> dependent = new HeliosFuture<>(this, context, function, kind);
+
+        HeliosFuture<?> head;
+        do {
+            head = dependents;
+            if (head == COMPLETED_STACK) {
+                dependent.fire();
+                return dependent;
+            }
+            dependent.nextDependent = head;
+        } while (!DEPENDENTS.compareAndSet(this, head, dependent));
+
+        return dependent;
+    }
+
+    /**
+     * Called once the source stage completes, schedules this stage or propagates failure of the source
+     * @since 1.0-SNAPSHOT
+     */
+    private void fire() {
+        if (kind != KIND_HANDLE && source.result instanceof Failure failure) {
+            complete(new Failure(failure.throwable(), failure.cancelled()));
+            return;
+        }
+
+        submit();
+    }
+
+    /**
+     * Schedules this stage as instant task on its context, stage is failed if it cannot be scheduled
+     * @since 1.0-SNAPSHOT
+     */
+    private void submit() {
+        if (result != null) return;
+
+        TaskEventHandler eventHandler = NO_EVENTS;
+        if (context.getSchedulerHandler() instanceof EntitySchedulerHandler) {
+            // entity may be removed before the stage runs, which would leave the chain hanging
+            eventHandler = new TaskEventHandler(retiredListener());
+        }
+
+        HeliosTask task;
+        try {
+            task = context.getSchedulerHandler().schedule(context.getPlugin(), this::run, eventHandler, 0L, -1L);
+        } catch (RuntimeException exception) {
+            // stage which cannot be scheduled fails, so the chain behind it does not hang
+            complete(new Failure(exception, false));
+            return;
+        }
+
+        if (this.task == null) {
+            this.task = task;
+        }
+
+        // stage could have been cancelled while it was being scheduled
+        if (isCancelled() && !task.isCancelled()) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Completes this stage and fires all dependent stages
+     * @param result result (non-null, either value, {@link #NULL_RESULT} or {@link Failure})
+     * @return whether this call completed the stage
+     * @since 1.0-SNAPSHOT
+     */
+    private boolean complete(@NotNull Object result) {
+        if (!RESULT.compareAndSet(this, null, result)) {
+            return false;
+        }
+
+        HeliosFuture<?> dependent = (HeliosFuture<?>) DEPENDENTS.getAndSet(this, COMPLETED_STACK);
+        while (dependent != null) {
+            HeliosFuture<?> next = dependent.nextDependent;
+            dependent.nextDependent = null;
+            dependent.fire();
+            dependent = next;
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates listeners completing this stage once its entity retires
+     * @return listener map
+     * @since 1.0-SNAPSHOT
+     */
+    private @NotNull Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> retiredListener() {
+        Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> map = new HashMap<>();
+        map.put(TaskEventType.RETIRED, List.of(data -> complete(new Failure(new CancellationException("Entity retired before the stage could run"), true))));
+        return map;
+    }
+
+    /**
+     * Unwraps stored result into the value
+     * @param result stored result
+     * @return value
+     * @since 1.0-SNAPSHOT
+     */
+    private static @Nullable Object unwrap(@Nullable Object result) {
+        return result == NULL_RESULT ? null : result;
+    }
+
+    /**
+     * Creates context running in the context of entity
+     * @param entity entity
+     * @return new context
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_ -> new")
+    private static @NotNull TaskScheduleContext entityContext(@NotNull Entity entity) {
+        Objects.requireNonNull(entity, "entity");
+        return TaskScheduleContext.builder().setSchedulerHandler(TaskSchedulerHandler.Type.ENTITY, entity).build();
+    }
+
+    /**
+     * Stored failure of a stage
+     * @param throwable cause
+     * @param cancelled whether stage was cancelled
+     * @since 1.0-SNAPSHOT
+     */
+    private record Failure(@NotNull Throwable throwable, boolean cancelled) {
+    }
+}
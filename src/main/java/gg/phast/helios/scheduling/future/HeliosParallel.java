@@ -0,0 +1,245 @@
+package gg.phast.helios.scheduling.future;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventCallData;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Parallel fan-out / fan-in over a snapshot of collection, elements are split into chunks which are computed
+ * as instant tasks of worker context (async by default) and the results are gathered either into single
+ * {@link HeliosFuture} of list, which can be applied e.g. on the main thread with {@link HeliosFuture#thenAcceptSync(Consumer)},
+ * or delivered per element on the entity scheduler of each element, so results can be applied to entities safely on Folia.
+ * <p>
+ * Failure of any element fails the whole computation and chunks which did not start yet are skipped,
+ * the same happens once the returned future is cancelled.
+ * To start, use {@link #of(Collection)}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ * @param <E> type of elements
+ */
+public final class HeliosParallel<E> {
+
+    private final static TaskEventHandler NO_EVENTS = TaskEventHandler.empty();
+
+    private final List<E> elements;
+    private TaskScheduleContext context = TaskScheduleContext.of(TaskSchedulerHandler.Type.ASYNC);
+    private int chunkSize;
+
+    /**
+     * Constructor, to create new instance, use {@link #of(Collection)}
+     * @param elements snapshot of elements
+     * @since 1.0-SNAPSHOT
+     */
+    private HeliosParallel(@NotNull List<E> elements) {
+        this.elements = elements;
+        this.chunkSize = Math.max((elements.size() + Runtime.getRuntime().availableProcessors() - 1) / Runtime.getRuntime().availableProcessors(), 1);
+    }
+
+    /**
+     * Takes snapshot of elements, which the computation is split over
+     * @param elements elements (e.g. online players)
+     * @return new instance
+     * @param <E> type of elements
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_ -> new")
+    public static <E> @NotNull HeliosParallel<E> of(@NotNull Collection<? extends E> elements) {
+        Objects.requireNonNull(elements, "elements");
+        return new HeliosParallel<>(new ArrayList<>(elements));
+    }
+
+    /**
+     * Sets up context which chunks are computed in
+     * @param context context (def: ASYNC)
+     * @return this instance
+     * @since 1.0-SNAPSHOT
+     */
+    public HeliosParallel<E> context(@NotNull TaskScheduleContext context) {
+        Objects.requireNonNull(context, "context");
+        this.context = context;
+        return this;
+    }
+
+    /**
+     * Sets up amount of elements computed by single task
+     * @param chunkSize chunk size (must be greater than 0, def: elements split evenly across available processors)
+     * @return this instance
+     * @since 1.0-SNAPSHOT
+     */
+    public HeliosParallel<E> chunkSize(int chunkSize) {
+        Preconditions.checkArgument(chunkSize > 0, "chunkSize must be greater than 0");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Computes function for every element in parallel and gathers the results
+     * @param function function computed in the worker context
+     * @return future of results, in the order of elements
+     * @param <R> type of results
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<List<R>> map(@NotNull Function<? super E, ? extends R> function) {
+        Objects.requireNonNull(function, "function");
+
+        HeliosFuture<List<R>> future = HeliosFuture.incomplete();
+        Object[] results = new Object[elements.size()];
+
+        fanOut(future, (index, element) -> results[index] = function.apply(element), () -> {
+            @SuppressWarnings("unchecked")
+            List<R> list = (List<R>) Collections.unmodifiableList(Arrays.asList(results));
+            future.completeValue(list);
+        });
+
+        return future;
+    }
+
+    /**
+     * Computes function for every element in parallel and applies every result in the context of entity
+     * the element belongs to, as soon as its chunk is computed
+     * @param entity function returning entity of element (e.g. identity for players)
+     * @param function function computed in the worker context
+     * @param apply consumer applying the result on the entity scheduler
+     * @return future completed once every result was applied, results of entities which retired meanwhile are dropped
+     * @param <R> type of results
+     * @since 1.0-SNAPSHOT
+     */
+    public <R> @NotNull HeliosFuture<Void> mapAt(@NotNull Function<? super E, ? extends Entity> entity, @NotNull Function<? super E, ? extends R> function, @NotNull BiConsumer<? super E, ? super R> apply) {
+        Objects.requireNonNull(entity, "entity");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(apply, "apply");
+
+        HeliosFuture<Void> future = HeliosFuture.incomplete();
+        AtomicInteger pendingDeliveries = new AtomicInteger(elements.size());
+        Runnable delivered = () -> {
+            if (pendingDeliveries.decrementAndGet() == 0) {
+                future.completeValue(null);
+            }
+        };
+
+        fanOut(future, (index, element) -> {
+            R result = function.apply(element);
+            TaskScheduleContext entityContext = TaskScheduleContext.builder()
+                    .setSchedulerHandler(TaskSchedulerHandler.Type.ENTITY, entity.apply(element))
+                    .build();
+
+            // every element is counted down exactly once, either by delivery, by retirement or by refused scheduling
+            AtomicBoolean counted = new AtomicBoolean();
+            Runnable countDown = () -> {
+                if (counted.compareAndSet(false, true)) {
+                    delivered.run();
+                }
+            };
+
+            Map<TaskEventType<?>, List<Consumer<TaskEventCallData<?>>>> listeners = Map.of(TaskEventType.RETIRED, List.of(data -> countDown.run()));
+            Consumer<HeliosTask> delivery = task -> {
+                try {
+                    if (!future.isDone()) {
+                        apply.accept(element, result);
+                    }
+                } catch (Throwable throwable) {
+                    future.completeFailure(throwable);
+                } finally {
+                    countDown.run();
+                }
+            };
+
+            HeliosTask task = entityContext.getSchedulerHandler().schedule(entityContext.getPlugin(), delivery, new TaskEventHandler(listeners), 0L, -1L);
+            if (task.isCancelled()) {
+                // entity was removed before the delivery could be scheduled, its result is dropped
+                countDown.run();
+            }
+        }, () -> {
+        });
+
+        return future;
+    }
+
+    /**
+     * Splits elements into chunks and schedules them in the worker context
+     * @param future future which is failed if any element fails
+     * @param action action computed for every element
+     * @param completion called once every chunk was computed
+     * @since 1.0-SNAPSHOT
+     */
+    private void fanOut(@NotNull HeliosFuture<?> future, @NotNull ElementAction<E> action, @NotNull Runnable completion) {
+        int size = elements.size();
+        if (size == 0) {
+            completion.run();
+            future.completeValue(null);
+            return;
+        }
+
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        AtomicInteger pendingChunks = new AtomicInteger(chunks);
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * chunkSize;
+            int to = Math.min(from + chunkSize, size);
+
+            Consumer<HeliosTask> consumer = task -> {
+                try {
+                    for (int index = from; index < to; index++) {
+                        // cancelled or failed meanwhile, the rest is not needed anymore
+                        if (future.isDone()) return;
+                        action.accept(index, elements.get(index));
+                    }
+                } catch (Throwable throwable) {
+                    future.completeFailure(throwable);
+                    return;
+                }
+
+                if (pendingChunks.decrementAndGet() == 0) {
+                    completion.run();
+                }
+            };
+
+            try {
+                context.getSchedulerHandler().schedule(context.getPlugin(), consumer, NO_EVENTS, 0L, -1L);
+            } catch (RuntimeException exception) {
+                future.completeFailure(exception);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Action computed for element
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     * @param <E> type of elements
+     */
+    @FunctionalInterface
+    private interface ElementAction<E> {
+
+        /**
+         * Computes action for element
+         * @param index index of element
+         * @param element element
+         * @since 1.0-SNAPSHOT
+         */
+        void accept(int index, E element);
+    }
+}
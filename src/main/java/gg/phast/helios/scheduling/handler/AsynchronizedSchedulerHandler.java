@@ -1,16 +1,12 @@
 package gg.phast.helios.scheduling.handler;
 
-import gg.phast.helios.Helios;
-import gg.phast.helios.java.holders.ObjectHolder;
 import gg.phast.helios.scheduling.HeliosTask;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
-import gg.phast.helios.scheduling.eventhandler.TaskEventType;
 import gg.phast.helios.scheduling.internal.PaperHeliosTask;
 import io.papermc.paper.threadedregions.scheduler.FoliaAsyncScheduler;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.InvocationTargetException;
@@ -26,17 +22,6 @@ import java.util.function.Consumer;
  */
 public class AsynchronizedSchedulerHandler extends TaskSchedulerHandler {
 
-    private final static Method SCHEDULE_METHOD;
-
-    static {
-        try {
-            SCHEDULE_METHOD = FoliaAsyncScheduler.class.getDeclaredMethod("scheduleTimerTask", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
-            SCHEDULE_METHOD.setAccessible(true);
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     /**
      * Schedules consumer with specific parameters, for internal API use
      * @param plugin plugin
@@ -48,39 +33,85 @@ public class AsynchronizedSchedulerHandler extends TaskSchedulerHandler {
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public HeliosTask schedule(@NotNull JavaPlugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
         ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
 
-        ObjectHolder<HeliosTask> taskHolder = new ObjectHolder<>();
-        Consumer<ScheduledTask> paperConsumer = (paperTask) -> {
-            if (taskHolder.get() == null) {
-                taskHolder.set(PaperHeliosTask.create(eventHandler, paperTask));
-            }
+        PaperHeliosTask task = PaperHeliosTask.create(eventHandler);
+        Consumer<ScheduledTask> paperConsumer = (paperTask) -> execute(task, consumer, eventHandler, delay, period);
 
-            HeliosTask task = taskHolder.get();
+        task.bind(scheduleTimer(plugin, paperConsumer, delay * 50L, period * 50L, TimeUnit.MILLISECONDS));
 
-            try {
-                consumer.accept(task);
-
-                // repeating task never ends except exception or cancel
-                if (!paperTask.isRepeatingTask()) {
-                    eventHandler.triggerEvent(task, TaskEventType.FINISH, null);
-                }
-            } catch (Exception exception) {
-                Helios.getLogger().severe("Caught exception while executing task!");
-                eventHandler.triggerEvent(task, TaskEventType.EXCEPTION, exception);
-            }
-        };
+        return task;
+    }
+
+    /**
+     * Schedules consumer with wall-clock delay and period, which are honoured exactly, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delayNanos delay in nanoseconds
+     * @param periodNanos period in nanoseconds (-1 for non repeating task)
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask scheduleNanos(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delayNanos, long periodNanos) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delayNanos, periodNanos);
+
+        PaperHeliosTask task = PaperHeliosTask.create(eventHandler);
+        Consumer<ScheduledTask> paperConsumer = (paperTask) -> executeNanos(task, consumer, eventHandler, delayNanos, periodNanos);
 
-        ScheduledTask paperTask;
+        task.bind(scheduleTimer(plugin, paperConsumer, delayNanos, periodNanos, TimeUnit.NANOSECONDS));
+
+        return task;
+    }
+
+    /**
+     * Async scheduler runs on wall-clock time
+     * @return true
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public boolean isWallClockTiming() {
+        return true;
+    }
+
+    /**
+     * Schedules timer task on the async scheduler of the server
+     * @param plugin plugin
+     * @param paperConsumer consumer
+     * @param delay delay
+     * @param period period
+     * @param unit time unit of delay and period
+     * @return paper task
+     * @since 1.0-SNAPSHOT
+     */
+    private @NotNull ScheduledTask scheduleTimer(@NotNull Plugin plugin, @NotNull Consumer<ScheduledTask> paperConsumer, long delay, long period, @NotNull TimeUnit unit) {
         try {
-            paperTask = (ScheduledTask) SCHEDULE_METHOD.invoke(Bukkit.getAsyncScheduler(), plugin, paperConsumer, delay * 50L, period * 50L, TimeUnit.MILLISECONDS);
+            return (ScheduledTask) ScheduleMethod.METHOD.invoke(Bukkit.getAsyncScheduler(), plugin, paperConsumer, delay, period, unit);
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new RuntimeException(e);
         }
+    }
+
+    /**
+     * Holder of the reflected server method, resolved on first schedule,
+     * so the handler can be created even without server implementation on the classpath
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    private final static class ScheduleMethod {
 
-        taskHolder.set(PaperHeliosTask.create(eventHandler, paperTask));
+        private final static Method METHOD;
 
-        return taskHolder.get();
+        static {
+            try {
+                METHOD = FoliaAsyncScheduler.class.getDeclaredMethod("scheduleTimerTask", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
+                METHOD.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        }
     }
 }
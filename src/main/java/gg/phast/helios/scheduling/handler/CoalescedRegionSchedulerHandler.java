@@ -0,0 +1,62 @@
+package gg.phast.helios.scheduling.handler;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.QueuedHeliosTask;
+import gg.phast.helios.scheduling.region.RegionBatch;
+import gg.phast.helios.scheduling.region.RegionKey;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Region scheduler handler which coalesces tasks, all instant tasks targeting the same region (see {@link RegionKey})
+ * before the region ticks are handed over as one submission, while every task keeps its own handle and its exception
+ * does not affect the others. Delayed and repeating tasks are scheduled one by one, same as {@link RegionSchedulerHandler} does
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class CoalescedRegionSchedulerHandler extends TaskSchedulerHandler {
+
+    private final Location location;
+    private final RegionKey region;
+    private final RegionSchedulerHandler fallback;
+
+    /**
+     * Constructor
+     * @param location location
+     * @since 1.0-SNAPSHOT
+     */
+    public CoalescedRegionSchedulerHandler(Location location) {
+        this.location = location;
+        this.region = RegionKey.of(location);
+        this.fallback = new RegionSchedulerHandler(location);
+    }
+
+    /**
+     * Schedules consumer with specific parameters, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        if (delay > 0 || period > 0) {
+            return fallback.schedule(plugin, consumer, eventHandler, delay, period);
+        }
+
+        QueuedHeliosTask task = QueuedHeliosTask.create(eventHandler);
+        RegionBatch.submit(plugin, location, region, () -> execute(task, consumer, eventHandler, delay, period));
+
+        return task;
+    }
+}
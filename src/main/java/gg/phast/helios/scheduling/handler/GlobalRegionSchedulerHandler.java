@@ -1,15 +1,12 @@
 package gg.phast.helios.scheduling.handler;
 
-import gg.phast.helios.Helios;
-import gg.phast.helios.java.holders.ObjectHolder;
 import gg.phast.helios.scheduling.HeliosTask;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
-import gg.phast.helios.scheduling.eventhandler.TaskEventType;
 import gg.phast.helios.scheduling.internal.PaperHeliosTask;
 import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Consumer;
@@ -33,47 +30,29 @@ public class GlobalRegionSchedulerHandler extends TaskSchedulerHandler {
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public HeliosTask schedule(@NotNull JavaPlugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
         ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
 
-        ObjectHolder<HeliosTask> taskHolder = new ObjectHolder<>();
-        Consumer<ScheduledTask> paperConsumer = (paperTask) -> {
-            if (taskHolder.get() == null) {
-                taskHolder.set(PaperHeliosTask.create(eventHandler, paperTask));
-            }
-
-            HeliosTask task = taskHolder.get();
-
-            try {
-                consumer.accept(task);
-
-                // repeating task never ends except exception or cancel
-                if (!paperTask.isRepeatingTask()) {
-                    eventHandler.triggerEvent(task, TaskEventType.FINISH, null);
-                }
-            } catch (Exception exception) {
-                Helios.getLogger().severe("Caught exception while executing task!");
-                eventHandler.triggerEvent(task, TaskEventType.EXCEPTION, exception);
-            }
-        };
+        // Folia requires initial delay of repeating task to be at least one tick
+        long initialDelay = period > 0 ? Math.max(delay, 1L) : delay;
+        PaperHeliosTask task = PaperHeliosTask.create(eventHandler);
+        Consumer<ScheduledTask> paperConsumer = (paperTask) -> execute(task, consumer, eventHandler, initialDelay, period);
 
         GlobalRegionScheduler scheduler = Bukkit.getGlobalRegionScheduler();
         ScheduledTask paperTask;
 
-        if (delay > 0) {
-            if (period > 0) {
-                paperTask = scheduler.runAtFixedRate(plugin, paperConsumer, delay, period);
-            }
-            else {
-                paperTask = scheduler.runDelayed(plugin, paperConsumer, delay);
-            }
+        if (period > 0) {
+            paperTask = scheduler.runAtFixedRate(plugin, paperConsumer, initialDelay, period);
+        }
+        else if (delay > 0) {
+            paperTask = scheduler.runDelayed(plugin, paperConsumer, delay);
         }
         else {
             paperTask = scheduler.run(plugin, paperConsumer);
         }
 
-        taskHolder.set(PaperHeliosTask.create(eventHandler, paperTask));
+        task.bind(paperTask);
 
-        return taskHolder.get();
+        return task;
     }
 }
@@ -0,0 +1,116 @@
+package gg.phast.helios.scheduling.handler;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.Helios;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.PriorityHeliosTask;
+import gg.phast.helios.scheduling.internal.QueuedHeliosTask;
+import gg.phast.helios.scheduling.priority.PriorityTaskQueue;
+import gg.phast.helios.scheduling.priority.TaskPriority;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Priority queue scheduler handler that enqueues tasks into priority class of {@link PriorityTaskQueue},
+ * delayed and repeating tasks are timed by the queue's drain handler and enqueued once they are due
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class PriorityQueueSchedulerHandler extends TaskSchedulerHandler {
+
+    private final PriorityTaskQueue queue;
+    private final TaskPriority priority;
+
+    /**
+     * Constructor
+     * @param queue queue
+     * @param priority priority class
+     * @since 1.0-SNAPSHOT
+     */
+    public PriorityQueueSchedulerHandler(@NotNull PriorityTaskQueue queue, @NotNull TaskPriority priority) {
+        this.queue = queue;
+        this.priority = priority;
+    }
+
+    /**
+     * Schedules consumer with specific parameters, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @throws RejectedExecutionException if instant task was rejected by overflow policy of the class
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        if (delay <= 0 && period <= 0) {
+            QueuedHeliosTask task = QueuedHeliosTask.create(eventHandler);
+            if (!queue.enqueue(priority, task, consumer, eventHandler, delay, period)) {
+                throw new RejectedExecutionException("Priority class " + priority.name().toLowerCase() + " is full!");
+            }
+            return task;
+        }
+
+        Preconditions.checkState(!queue.isShutdown(), "queue is already shut down");
+
+        // repeating timer must not start without delay, some platforms would run it only once
+        long initialDelay = period > 0 ? Math.max(delay, 1L) : delay;
+        PriorityHeliosTask task = PriorityHeliosTask.create(eventHandler, queue::untrack);
+        Consumer<HeliosTask> timerConsumer = (timer) -> enqueueRun(task, consumer, eventHandler, initialDelay, period);
+        task.bind(queue.getDrainHandler().schedule(plugin, timerConsumer, TaskEventHandler.empty(), initialDelay, period));
+
+        if (!queue.track(task)) {
+            task.cancel();
+        }
+
+        return task;
+    }
+
+    /**
+     * Enqueues due run of delayed or repeating task, repeating task never has more than one run waiting
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @since 1.0-SNAPSHOT
+     */
+    private void enqueueRun(@NotNull PriorityHeliosTask task, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        if (task.isDone()) return;
+
+        // queue was shut down after the task was tracked, its timer must not keep firing
+        if (queue.isShutdown()) {
+            task.cancel();
+            return;
+        }
+
+        if (!task.markQueued()) return;
+
+        if (queue.enqueue(priority, task, consumer, eventHandler, delay, period)) return;
+
+        task.markDequeued();
+        if (period <= 0 && !task.isDone()) {
+            queue.untrack(task);
+            Helios.getLogger().warning("Delayed task (" + task.getUniqueId() + ") was rejected by full priority class " + priority.name().toLowerCase() + "!");
+            task.cancel();
+        }
+    }
+
+    /**
+     * Returns priority class tasks are enqueued into
+     * @return priority class
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull TaskPriority getPriority() {
+        return priority;
+    }
+}
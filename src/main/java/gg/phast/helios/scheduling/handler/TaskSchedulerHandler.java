@@ -1,14 +1,22 @@
 package gg.phast.helios.scheduling.handler;
 
+import gg.phast.helios.Helios;
+import gg.phast.helios.HeliosPlatform;
 import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.clock.VirtualClock;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.eventhandler.TaskEventType;
+import gg.phast.helios.scheduling.metrics.HeliosMetrics;
+import gg.phast.helios.scheduling.metrics.TaskMetrics;
+import gg.phast.helios.scheduling.pool.HeliosWorkPool;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -19,9 +27,14 @@ import java.util.function.Consumer;
  */
 public abstract class TaskSchedulerHandler {
 
+    /**
+     * Duration of single server tick in nanoseconds
+     */
+    public final static long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
     /**
      * Schedules consumer with specific parameters, for internal API use
-     * @param plugin plugin
+     * @param plugin plugin, null only if {@link #isPluginRequired()} is false
      * @param consumer consumer
      * @param eventHandler event handler
      * @param delay delay
@@ -30,7 +43,145 @@ public abstract class TaskSchedulerHandler {
      * @since 1.0-SNAPSHOT
      */
     @ApiStatus.Internal
-    public abstract HeliosTask schedule(@NotNull JavaPlugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period);
+    public abstract HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period);
+
+    /**
+     * Schedules consumer with wall-clock delay and period, for internal API use.
+     * Handlers with wall-clock timing ({@link #isWallClockTiming()}) honour them exactly,
+     * tick based handlers round them up to the nearest whole tick (period to at least one tick)
+     * @param plugin plugin, null only if {@link #isPluginRequired()} is false
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delayNanos delay in nanoseconds
+     * @param periodNanos period in nanoseconds (-1 for non repeating task)
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public HeliosTask scheduleNanos(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delayNanos, long periodNanos) {
+        return schedule(plugin, consumer, eventHandler, toTicks(delayNanos), periodNanos == -1 ? -1L : Math.max(toTicks(periodNanos), 1L));
+    }
+
+    /**
+     * Returns whether handler times tasks by wall-clock rather than by server ticks,
+     * so delays and periods finer than a tick are honoured exactly
+     * @return whether timing is wall-clock based
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isWallClockTiming() {
+        return false;
+    }
+
+    /**
+     * Converts nanoseconds to ticks, rounding up
+     * @param nanos nanoseconds (negative values are kept, so they fail safety checks)
+     * @return ticks
+     * @since 1.0-SNAPSHOT
+     */
+    protected static long toTicks(long nanos) {
+        return nanos <= 0 ? nanos : nanos / TICK_NANOS + (nanos % TICK_NANOS == 0 ? 0 : 1);
+    }
+
+    /**
+     * Runs consumer of the task, shared by all handlers, takes no locks and allocates nothing
+     * unless an event is triggered, run is skipped if task was cancelled before it started.
+     * If {@link HeliosMetrics} are enabled, duration and scheduling lag of the run are recorded
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay in ticks, used for computing scheduling lag
+     * @param period period in ticks (-1 for non repeating task)
+     * @since 1.0-SNAPSHOT
+     */
+    protected void execute(@NotNull HeliosTask task, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskEventHandler eventHandler, long delay, long period) {
+        executeTask(task, consumer, eventHandler, delay, period);
+    }
+
+    /**
+     * Runs consumer of the task the same way handlers do, for internal API use by builders
+     * which run their tasks from within other platform tasks (e.g. debounced tasks)
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay in ticks, used for computing scheduling lag
+     * @param period period in ticks (-1 for non repeating task)
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public static void executeTask(@NotNull HeliosTask task, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskEventHandler eventHandler, long delay, long period) {
+        executeTaskNanos(task, consumer, eventHandler, delay * TICK_NANOS, period > 0 ? period * TICK_NANOS : -1L);
+    }
+
+    /**
+     * Runs consumer of the task scheduled with wall-clock delay and period
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delayNanos delay in nanoseconds, used for computing scheduling lag
+     * @param periodNanos period in nanoseconds (-1 for non repeating task)
+     * @since 1.0-SNAPSHOT
+     */
+    protected void executeNanos(@NotNull HeliosTask task, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskEventHandler eventHandler, long delayNanos, long periodNanos) {
+        executeTaskNanos(task, consumer, eventHandler, delayNanos, periodNanos);
+    }
+
+    /**
+     * Runs consumer of the task, both tick and wall-clock scheduled tasks end up here
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delayNanos delay in nanoseconds, used for computing scheduling lag
+     * @param periodNanos period in nanoseconds (-1 for non repeating task)
+     * @since 1.0-SNAPSHOT
+     */
+    private static void executeTaskNanos(@NotNull HeliosTask task, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskEventHandler eventHandler, long delayNanos, long periodNanos) {
+        if (!task.markRunning()) return;
+
+        boolean repeating = periodNanos > 0;
+        TaskMetrics metrics = HeliosMetrics.isEnabled() ? eventHandler.getMetrics() : null;
+        long start = 0L;
+
+        if (metrics != null) {
+            start = System.nanoTime();
+            long planned = task.planRun(start, delayNanos, periodNanos);
+            if (planned != Long.MIN_VALUE) {
+                metrics.recordLag(start - planned);
+            }
+        }
+
+        Exception failure = null;
+        boolean ran;
+        try {
+            consumer.accept(task);
+        } catch (Exception exception) {
+            failure = exception;
+        } finally {
+            // error thrown by consumer passes through, but must not leave the task running forever
+            if (metrics != null) metrics.recordRun(System.nanoTime() - start);
+            ran = task.markRan(repeating);
+        }
+
+        if (failure != null) {
+            Helios.getLogger().severe("Caught exception while executing task!");
+            eventHandler.triggerEvent(task, TaskEventType.EXCEPTION, failure);
+            return;
+        }
+
+        // repeating task never ends except exception or cancel
+        if (ran && !repeating) {
+            eventHandler.triggerEvent(task, TaskEventType.FINISH, null);
+        }
+    }
+
+    /**
+     * Returns whether tasks scheduled by this handler need plugin which owns them,
+     * only handlers running without server (e.g. {@link VirtualClockSchedulerHandler}) do not
+     * @return whether plugin is required
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isPluginRequired() {
+        return true;
+    }
 
     /**
      * Ensures scheduling safety before actually scheduling (by checking parameters)
@@ -41,8 +192,10 @@ public abstract class TaskSchedulerHandler {
      * @param period period
      * @since 1.0-SNAPSHOT
      */
-    protected void ensureSchedulingSafety(JavaPlugin plugin, Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
-        Objects.requireNonNull(plugin, "plugin null");
+    protected void ensureSchedulingSafety(Plugin plugin, Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        if (isPluginRequired()) {
+            Objects.requireNonNull(plugin, "plugin null");
+        }
         Objects.requireNonNull(consumer, "consumer null");
         Objects.requireNonNull(eventHandler, "eventHandler null");
         if (delay < 0) {
@@ -61,41 +214,97 @@ public abstract class TaskSchedulerHandler {
      * @since 1.0-SNAPSHOT
      */
     public static abstract class Type<D> {
-        public final static Type<Void> SYNC; // Sync, runs on main thread
+        public final static Type<Void> SYNC; // Sync, runs on main thread, or on global region in case server implementation is Folia
         public final static Type<Void> ASYNC; // Async, runs on side thread
-        public final static Type<Void> GLOBAL_REGION; // Global Region, runs on global region in case server implementation is Folia,
+        public final static Type<Void> GLOBAL_REGION; // Global Region, runs on global region in case server implementation is Folia, otherwise as Sync
         public final static Type<Location> REGION; // Region, runs on the region in case server implementation is Folia, otherwise as Sync
+        public final static Type<Location> COALESCED_REGION; // Coalesced Region, as Region but instant tasks of the same region share single submission
         public final static Type<Entity> ENTITY; // Entity, runs in the region the entity is in case server implementation is Folia, otherwise as Sync
+        public final static Type<Void> TIMING_WHEEL; // Timing Wheel, multiplexes tasks of a plugin onto a single repeating global region task
+        public final static Type<Void> VIRTUAL; // Virtual, runs on virtual thread, suited for blocking calls
+        public final static Type<VirtualClock.Lane> VIRTUAL_CLOCK; // Virtual Clock, runs on lane of manually advanced clock, suited for headless simulations
+        public final static Type<HeliosWorkPool> WORK_POOL; // Work Pool, runs on Helios owned work-stealing pool with bounded queue
+
+        private final static TaskSchedulerHandler MAIN_THREAD_HANDLER;
+        private final static TaskSchedulerHandler ASYNC_HANDLER;
+        private final static TaskSchedulerHandler GLOBAL_REGION_HANDLER;
+        private final static TaskSchedulerHandler TIMING_WHEEL_HANDLER;
+        private final static TaskSchedulerHandler VIRTUAL_HANDLER;
 
         static {
+            HeliosPlatform platform = HeliosPlatform.current();
+
+            // handlers without value are stateless, therefore single instance is shared for each type,
+            // Folia has no main thread so sync tasks run on the global region,
+            // plain Bukkit has no paper schedulers so region tasks run on the main thread and async on virtual threads
+            VIRTUAL_HANDLER = new VirtualThreadSchedulerHandler();
+            TIMING_WHEEL_HANDLER = new TimingWheelSchedulerHandler();
+            MAIN_THREAD_HANDLER = platform == HeliosPlatform.FOLIA ? new GlobalRegionSchedulerHandler() : new SynchronizedSchedulerHandler();
+            ASYNC_HANDLER = platform == HeliosPlatform.BUKKIT ? VIRTUAL_HANDLER : new AsynchronizedSchedulerHandler();
+            GLOBAL_REGION_HANDLER = platform == HeliosPlatform.PAPER ? new GlobalRegionSchedulerHandler() : MAIN_THREAD_HANDLER;
+
             SYNC = new Type<>(Void.TYPE, "sync") {
                 @Override
                 public TaskSchedulerHandler createInstance(Void data) {
-                    return new SynchronizedSchedulerHandler();
+                    return MAIN_THREAD_HANDLER;
                 }
             };
             ASYNC = new Type<>(Void.TYPE, "async") {
                 @Override
                 public TaskSchedulerHandler createInstance(Void data) {
-                    return new AsynchronizedSchedulerHandler();
+                    return ASYNC_HANDLER;
                 }
             };
             GLOBAL_REGION = new Type<>(Void.TYPE, "global_region") {
                 @Override
                 public TaskSchedulerHandler createInstance(Void data) {
-                    return new GlobalRegionSchedulerHandler();
+                    return GLOBAL_REGION_HANDLER;
                 }
             };
             REGION = new Type<>(Location.class, "region") {
                 @Override
                 public TaskSchedulerHandler createInstance(Location data) {
-                    return new RegionSchedulerHandler(data);
+                    // outside of Folia every region is ticked by the main thread
+                    return platform == HeliosPlatform.FOLIA ? new RegionSchedulerHandler(data) : MAIN_THREAD_HANDLER;
+                }
+            };
+            COALESCED_REGION = new Type<>(Location.class, "coalesced_region") {
+                @Override
+                public TaskSchedulerHandler createInstance(Location data) {
+                    // outside of Folia every region is ticked by the main thread
+                    return platform == HeliosPlatform.FOLIA ? new CoalescedRegionSchedulerHandler(data) : MAIN_THREAD_HANDLER;
                 }
             };
             ENTITY = new Type<>(Entity.class, "entity") {
                 @Override
                 public TaskSchedulerHandler createInstance(Entity data) {
-                    return new EntitySchedulerHandler(data);
+                    return platform == HeliosPlatform.BUKKIT ? MAIN_THREAD_HANDLER : new EntitySchedulerHandler(data);
+                }
+            };
+            TIMING_WHEEL = new Type<>(Void.TYPE, "timing_wheel") {
+                @Override
+                public TaskSchedulerHandler createInstance(Void data) {
+                    return TIMING_WHEEL_HANDLER;
+                }
+            };
+            VIRTUAL = new Type<>(Void.TYPE, "virtual") {
+                @Override
+                public TaskSchedulerHandler createInstance(Void data) {
+                    return VIRTUAL_HANDLER;
+                }
+            };
+            VIRTUAL_CLOCK = new Type<>(VirtualClock.Lane.class, "virtual_clock") {
+                @Override
+                public TaskSchedulerHandler createInstance(VirtualClock.Lane data) {
+                    Objects.requireNonNull(data, "lane");
+                    return new VirtualClockSchedulerHandler(data);
+                }
+            };
+            WORK_POOL = new Type<>(HeliosWorkPool.class, "work_pool") {
+                @Override
+                public TaskSchedulerHandler createInstance(HeliosWorkPool data) {
+                    Objects.requireNonNull(data, "pool");
+                    return data.getHandler();
                 }
             };
         }
@@ -133,7 +342,8 @@ public abstract class TaskSchedulerHandler {
         }
 
         /**
-         * Abstract method for creating instance
+         * Abstract method for creating instance, types without value return shared instance
+         * and the implementation is picked based on {@link HeliosPlatform}
          * @param data additional data
          * @return task scheduler handler
          * @since 1.0-SNAPSHOT
@@ -147,7 +357,7 @@ public abstract class TaskSchedulerHandler {
          * @since 1.0-SNAPSHOT
          */
         public static boolean isValidType(@NotNull TaskSchedulerHandler.Type<?> type) {
-            return type == SYNC || type == ASYNC || type == GLOBAL_REGION || type == REGION || type == ENTITY;
+            return type == SYNC || type == ASYNC || type == GLOBAL_REGION || type == REGION || type == COALESCED_REGION || type == ENTITY || type == TIMING_WHEEL || type == VIRTUAL || type == VIRTUAL_CLOCK || type == WORK_POOL;
         }
     }
 }
@@ -0,0 +1,82 @@
+package gg.phast.helios.scheduling.handler;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.TimingWheel;
+import gg.phast.helios.scheduling.internal.WheelHeliosTask;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel scheduler handler that multiplexes all tasks of a plugin onto
+ * a single repeating global region task using hierarchical timing wheel,
+ * suited for high amount of short-period repeating tasks (cooldowns, per-player tickers)
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class TimingWheelSchedulerHandler extends TaskSchedulerHandler {
+
+    private final static Map<Plugin, TimingWheel> PLUGIN_WHEELS = new ConcurrentHashMap<>();
+
+    private final @Nullable TimingWheel wheel;
+
+    /**
+     * Constructor, every plugin gets its own wheel shared by all timing wheel handlers,
+     * so disabling one plugin never stops timers of another one
+     * @since 1.0-SNAPSHOT
+     */
+    public TimingWheelSchedulerHandler() {
+        this.wheel = null;
+    }
+
+    /**
+     * Constructor
+     * @param wheel wheel which tasks are scheduled on
+     * @since 1.0-SNAPSHOT
+     */
+    public TimingWheelSchedulerHandler(@NotNull TimingWheel wheel) {
+        this.wheel = Objects.requireNonNull(wheel, "wheel");
+    }
+
+    /**
+     * Schedules consumer with specific parameters, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        Consumer<HeliosTask> wheelConsumer = (task) -> execute(task, consumer, eventHandler, delay, period);
+
+        TimingWheel wheel = this.wheel != null ? this.wheel : wheelOf(plugin);
+        return WheelHeliosTask.schedule(plugin, wheel, eventHandler, wheelConsumer, delay, period);
+    }
+
+    /**
+     * Returns wheel of the plugin, creating it if needed
+     * @param plugin plugin
+     * @return wheel
+     * @since 1.0-SNAPSHOT
+     */
+    private static @NotNull TimingWheel wheelOf(@NotNull Plugin plugin) {
+        TimingWheel wheel = PLUGIN_WHEELS.get(plugin);
+        if (wheel != null) return wheel;
+
+        // wheels of disabled plugins are not driven anymore (reloaded plugin is a new instance)
+        PLUGIN_WHEELS.keySet().removeIf(owner -> !owner.isEnabled());
+        return PLUGIN_WHEELS.computeIfAbsent(plugin, owner -> new TimingWheel());
+    }
+}
@@ -0,0 +1,60 @@
+package gg.phast.helios.scheduling.handler;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.clock.VirtualClock;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Virtual clock scheduler handler that runs tasks on a lane of manually advanced {@link VirtualClock},
+ * does not need any server, therefore plugin is not required either
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class VirtualClockSchedulerHandler extends TaskSchedulerHandler {
+
+    private final VirtualClock.Lane lane;
+
+    /**
+     * Constructor
+     * @param lane lane of the clock
+     * @since 1.0-SNAPSHOT
+     */
+    public VirtualClockSchedulerHandler(@NotNull VirtualClock.Lane lane) {
+        this.lane = lane;
+    }
+
+    /**
+     * Schedules consumer with specific parameters, for internal API use
+     * @param plugin plugin, may be null
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@Nullable Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        Consumer<HeliosTask> clockConsumer = (task) -> execute(task, consumer, eventHandler, delay, period);
+
+        return lane.schedule(eventHandler, clockConsumer, delay, period);
+    }
+
+    /**
+     * Virtual clock runs without server, so no plugin is needed
+     * @return false
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public boolean isPluginRequired() {
+        return false;
+    }
+}
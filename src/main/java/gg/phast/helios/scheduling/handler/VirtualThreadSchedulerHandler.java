@@ -0,0 +1,67 @@
+package gg.phast.helios.scheduling.handler;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.VirtualHeliosTask;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Virtual thread scheduler handler that runs tasks on Java virtual threads,
+ * suited for tasks doing blocking calls (JDBC, HTTP) since they do not occupy platform threads while blocked
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class VirtualThreadSchedulerHandler extends TaskSchedulerHandler {
+
+    /**
+     * Schedules consumer with specific parameters, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        Consumer<HeliosTask> virtualConsumer = (task) -> execute(task, consumer, eventHandler, delay, period);
+
+        return VirtualHeliosTask.schedule(eventHandler, virtualConsumer, delay * TICK_NANOS, period == -1 ? -1L : period * TICK_NANOS);
+    }
+
+    /**
+     * Schedules consumer with wall-clock delay and period, which are honoured exactly, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delayNanos delay in nanoseconds
+     * @param periodNanos period in nanoseconds (-1 for non repeating task)
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask scheduleNanos(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delayNanos, long periodNanos) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delayNanos, periodNanos);
+
+        Consumer<HeliosTask> virtualConsumer = (task) -> executeNanos(task, consumer, eventHandler, delayNanos, periodNanos);
+
+        return VirtualHeliosTask.schedule(eventHandler, virtualConsumer, delayNanos, periodNanos);
+    }
+
+    /**
+     * Runs of virtual threads are timed by the Helios timer on wall-clock time
+     * @return true
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public boolean isWallClockTiming() {
+        return true;
+    }
+}
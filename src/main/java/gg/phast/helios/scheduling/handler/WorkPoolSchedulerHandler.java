@@ -0,0 +1,90 @@
+package gg.phast.helios.scheduling.handler;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.internal.PoolHeliosTask;
+import gg.phast.helios.scheduling.pool.HeliosWorkPool;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Work pool scheduler handler that runs tasks on workers of {@link HeliosWorkPool},
+ * the pool is owned by Helios, therefore no plugin is required
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class WorkPoolSchedulerHandler extends TaskSchedulerHandler {
+
+    private final HeliosWorkPool pool;
+
+    /**
+     * Constructor
+     * @param pool pool
+     * @since 1.0-SNAPSHOT
+     */
+    public WorkPoolSchedulerHandler(@NotNull HeliosWorkPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Schedules consumer with specific parameters, for internal API use
+     * @param plugin plugin (not used)
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay
+     * @param period period
+     * @return helios task
+     * @throws java.util.concurrent.RejectedExecutionException if the first run was rejected by the pool
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask schedule(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delay, period);
+
+        Consumer<HeliosTask> poolConsumer = (task) -> execute(task, consumer, eventHandler, delay, period);
+
+        return PoolHeliosTask.schedule(eventHandler, pool, poolConsumer, delay * TICK_NANOS, period == -1 ? -1L : period * TICK_NANOS);
+    }
+
+    /**
+     * Schedules consumer with wall-clock delay and period, which are honoured exactly, for internal API use
+     * @param plugin plugin
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delayNanos delay in nanoseconds
+     * @param periodNanos period in nanoseconds (-1 for non repeating task)
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public HeliosTask scheduleNanos(@NotNull Plugin plugin, @NotNull Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delayNanos, long periodNanos) {
+        ensureSchedulingSafety(plugin, consumer, eventHandler, delayNanos, periodNanos);
+
+        Consumer<HeliosTask> poolConsumer = (task) -> executeNanos(task, consumer, eventHandler, delayNanos, periodNanos);
+
+        return PoolHeliosTask.schedule(eventHandler, pool, poolConsumer, delayNanos, periodNanos);
+    }
+
+    /**
+     * Runs of the pool are timed by the Helios timer on wall-clock time
+     * @return true
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public boolean isWallClockTiming() {
+        return true;
+    }
+
+    /**
+     * Pool is owned by Helios, so tasks do not need plugin
+     * @return false
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public boolean isPluginRequired() {
+        return false;
+    }
+}
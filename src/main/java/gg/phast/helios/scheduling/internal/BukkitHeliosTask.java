@@ -1,10 +1,9 @@
 package gg.phast.helios.scheduling.internal;
 
-import gg.phast.helios.Helios;
 import gg.phast.helios.scheduling.HeliosTask;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
-import gg.phast.helios.scheduling.eventhandler.TaskEventType;
 import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,56 +15,52 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class BukkitHeliosTask extends HeliosTask {
 
-    private final BukkitTask task;
+    private volatile BukkitTask task;
 
     /**
      * Constructor
      * @param eventHandler event handler used for triggering cancel
      * @since 1.0-SNAPSHOT
      */
-    private BukkitHeliosTask(TaskEventHandler eventHandler, BukkitTask task) {
+    private BukkitHeliosTask(TaskEventHandler eventHandler) {
         super(eventHandler);
-        this.task = task;
     }
 
     /**
-     * Cancels task if the task is still valid
+     * Binds the platform task once it is scheduled, for internal API use,
+     * if this task was cancelled in the meantime, the platform task is cancelled right away
+     * @param task platform task
      * @since 1.0-SNAPSHOT
      */
-    @Override
-    public void cancel() {
+    @ApiStatus.Internal
+    public void bind(@NotNull BukkitTask task) {
+        this.task = task;
         if (isCancelled()) {
-            Helios.getLogger().warning("Tried to cancel task (ID: " + task.getTaskId() + " ) which is already considered cancelled!");
-            return;
-        }
-
-        try {
             task.cancel();
-            if (eventHandler != null) eventHandler.triggerEvent(this, TaskEventType.CANCEL, null);
-        } catch (IllegalStateException ignored) {
-            // ignored since we do not care if task wasn't scheduled already
         }
     }
 
     /**
-     * Returns whether task is cancelled
-     * @return whether task is cancelled
+     * Cancels the underlying platform task
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public boolean isCancelled() {
-        return task.isCancelled();
+    protected void cancelPlatformTask() {
+        BukkitTask task = this.task;
+        if (task != null) {
+            task.cancel();
+        }
     }
 
     /**
-     * Creates new Bukkit Helios Task instance, not suited for outside use
+     * Creates new Bukkit Helios Task instance, not suited for outside use,
+     * the platform task is bound later using {@link #bind(BukkitTask)}
      * @param eventHandler event handler
-     * @param task task
      * @return helios task
      * @since 1.0-SNAPSHOT
      */
-    @Contract("_, _ -> new")
-    public static @NotNull HeliosTask create(TaskEventHandler eventHandler, BukkitTask task) {
-        return new BukkitHeliosTask(eventHandler, task);
+    @Contract("_ -> new")
+    public static @NotNull BukkitHeliosTask create(TaskEventHandler eventHandler) {
+        return new BukkitHeliosTask(eventHandler);
     }
 }
@@ -0,0 +1,50 @@
+package gg.phast.helios.scheduling.internal;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared lightweight timer used for driving delays and periods of tasks which are not
+ * run by the server scheduler, the timer thread only hands the work over to the executor
+ * of the task, so it is never blocked by user code
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@ApiStatus.Internal
+public final class HeliosTimer {
+
+    private final static ScheduledThreadPoolExecutor TIMER;
+
+    static {
+        TIMER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "Helios-Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Private constructor, this class is not meant to be instantiated
+     * @since 1.0-SNAPSHOT
+     */
+    private HeliosTimer() {
+    }
+
+    /**
+     * Runs the runnable on the timer thread after delay, runnable must only hand the work over
+     * @param runnable runnable
+     * @param delay delay
+     * @param unit time unit of delay
+     * @return scheduled future which can be used for cancelling
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull ScheduledFuture<?> schedule(@NotNull Runnable runnable, long delay, @NotNull TimeUnit unit) {
+        return TIMER.schedule(runnable, delay, unit);
+    }
+}
@@ -1,9 +1,7 @@
 package gg.phast.helios.scheduling.internal;
 
-import gg.phast.helios.Helios;
 import gg.phast.helios.scheduling.HeliosTask;
 import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
-import gg.phast.helios.scheduling.eventhandler.TaskEventType;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
@@ -17,57 +15,53 @@ import org.jetbrains.annotations.NotNull;
  */
 public class PaperHeliosTask extends HeliosTask {
 
-    private final ScheduledTask task;
+    private volatile ScheduledTask task;
 
     /**
      * Constructor
      * @param eventHandler event handler used for triggering cancel
      * @since 1.0-SNAPSHOT
      */
-    protected PaperHeliosTask(TaskEventHandler eventHandler, ScheduledTask task) {
+    protected PaperHeliosTask(TaskEventHandler eventHandler) {
         super(eventHandler);
-        this.task = task;
     }
 
     /**
-     * Cancels task if the task is still valid
+     * Binds the platform task once it is scheduled, for internal API use,
+     * if this task was cancelled in the meantime, the platform task is cancelled right away
+     * @param task platform task
      * @since 1.0-SNAPSHOT
      */
-    @Override
-    public void cancel() {
+    @ApiStatus.Internal
+    public void bind(@NotNull ScheduledTask task) {
+        this.task = task;
         if (isCancelled()) {
-            Helios.getLogger().warning("Tried to cancel task (" + task + ") which is already considered cancelled!");
-            return;
-        }
-
-        try {
             task.cancel();
-            if (eventHandler != null) eventHandler.triggerEvent(this, TaskEventType.CANCEL, null);
-        } catch (IllegalStateException ignored) {
-            // ignored since we do not care if task wasn't scheduled already
         }
     }
 
     /**
-     * Returns whether task is cancelled
-     * @return whether task is cancelled
+     * Cancels the underlying platform task
      * @since 1.0-SNAPSHOT
      */
     @Override
-    public boolean isCancelled() {
-        return task.isCancelled();
+    protected void cancelPlatformTask() {
+        ScheduledTask task = this.task;
+        if (task != null) {
+            task.cancel();
+        }
     }
 
     /**
-     * Creates new Paper Helios Task instance, not suited for outside use
+     * Creates new Paper Helios Task instance, not suited for outside use,
+     * the platform task is bound later using {@link #bind(ScheduledTask)}
      * @param eventHandler event handler
-     * @param task task
      * @return helios task
      * @since 1.0-SNAPSHOT
      */
-    @Contract("_, _ -> new")
+    @Contract("_ -> new")
     @ApiStatus.Internal
-    public static @NotNull HeliosTask create(TaskEventHandler eventHandler, ScheduledTask task) {
-        return new PaperHeliosTask(eventHandler, task);
+    public static @NotNull PaperHeliosTask create(TaskEventHandler eventHandler) {
+        return new PaperHeliosTask(eventHandler);
     }
 }
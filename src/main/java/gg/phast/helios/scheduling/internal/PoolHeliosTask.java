@@ -0,0 +1,160 @@
+package gg.phast.helios.scheduling.internal;
+
+import gg.phast.helios.Helios;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.pool.HeliosWorkPool;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Work pool implementation of abstract Helios Task, every run is submitted to {@link HeliosWorkPool},
+ * delays and periods are driven by {@link HeliosTimer}. Runs of repeating task never overlap,
+ * next run is planned when the previous one finishes (at fixed rate, if it is late it runs immediately).
+ * <p>
+ * Run fired by the timer which does not fit into the pool is skipped by repeating task (next one is planned
+ * a period later) and cancels delayed task, since the timer thread can neither block nor run it.
+ * Once the pool is shut down, task is cancelled by its next run, no matter whether it is repeating
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class PoolHeliosTask extends HeliosTask {
+
+    private final HeliosWorkPool pool;
+    private final Consumer<HeliosTask> consumer;
+    private final long periodNanos;
+    private volatile Future<?> timer;
+    private long nextRunNanos;
+
+    /**
+     * Constructor
+     * @param eventHandler event handler used for triggering cancel
+     * @param pool pool
+     * @param consumer consumer
+     * @param periodNanos period in nanoseconds, or -1 if task is not repeating
+     * @since 1.0-SNAPSHOT
+     */
+    private PoolHeliosTask(TaskEventHandler eventHandler, HeliosWorkPool pool, Consumer<HeliosTask> consumer, long periodNanos) {
+        super(eventHandler);
+        this.pool = pool;
+        this.consumer = consumer;
+        this.periodNanos = periodNanos;
+    }
+
+    /**
+     * Plans next run of this task, run without delay is submitted right away
+     * @param delayNanos delay in nanoseconds
+     * @param direct whether the run is submitted by the scheduling caller, so rejection policy applies
+     * @since 1.0-SNAPSHOT
+     */
+    private void plan(long delayNanos, boolean direct) {
+        nextRunNanos = System.nanoTime() + delayNanos;
+
+        if (delayNanos <= 0L) {
+            dispatch(direct);
+            return;
+        }
+
+        timer = HeliosTimer.schedule(() -> dispatch(false), delayNanos, TimeUnit.NANOSECONDS);
+
+        // cancel could have raced with planning, make sure the new timer does not fire
+        if (isCancelled()) {
+            timer.cancel(false);
+        }
+    }
+
+    /**
+     * Submits run to the pool
+     * @param direct whether the run is submitted by the scheduling caller
+     * @since 1.0-SNAPSHOT
+     */
+    private void dispatch(boolean direct) {
+        if (isDone()) return;
+
+        boolean accepted;
+        if (direct) {
+            accepted = pool.submit(this::run);
+        } else {
+            // timer thread swallows exceptions, so shut down pool has to cancel the task here,
+            // otherwise it would stay scheduled (and registered) forever
+            try {
+                accepted = !pool.isShutdown() && pool.offer(this::run);
+            } catch (IllegalStateException | RejectedExecutionException exception) {
+                accepted = false;
+            }
+
+            if (!accepted && pool.isShutdown()) {
+                if (!isDone()) {
+                    Helios.getLogger().warning("Task (" + uuid + ") was cancelled, work pool " + pool.getName() + " is shut down!");
+                    cancel();
+                }
+                return;
+            }
+        }
+
+        if (accepted) return;
+
+        if (periodNanos > 0L) {
+            plan(periodNanos, false);
+        }
+        else if (!isDone()) {
+            if (!direct) {
+                Helios.getLogger().warning("Task (" + uuid + ") was rejected by full work pool " + pool.getName() + "!");
+            }
+            cancel();
+        }
+    }
+
+    /**
+     * Runs the consumer on the current worker and plans the next run of repeating task
+     * @since 1.0-SNAPSHOT
+     */
+    private void run() {
+        try {
+            consumer.accept(this);
+        } finally {
+            // error passing through the consumer must not stop repeating task silently
+            if (periodNanos > 0L && !isCancelled()) {
+                plan(nextRunNanos + periodNanos - System.nanoTime(), false);
+            }
+        }
+    }
+
+    /**
+     * Cancels the planned run, run which is already queued or in progress is skipped or finished
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void cancelPlatformTask() {
+        Future<?> timer = this.timer;
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    /**
+     * Creates new Pool Helios Task instance and plans its first run, not suited for outside use
+     * @param eventHandler event handler
+     * @param pool pool
+     * @param consumer consumer called on worker of the pool
+     * @param delayNanos delay in nanoseconds
+     * @param periodNanos period in nanoseconds, or -1 if task is not repeating
+     * @return helios task
+     * @throws java.util.concurrent.RejectedExecutionException if the first run was rejected by the pool
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_, _, _, _, _ -> new")
+    @ApiStatus.Internal
+    public static @NotNull HeliosTask schedule(TaskEventHandler eventHandler, HeliosWorkPool pool, Consumer<HeliosTask> consumer, long delayNanos, long periodNanos) {
+        PoolHeliosTask task = new PoolHeliosTask(eventHandler, pool, consumer, periodNanos);
+        task.plan(delayNanos, true);
+        return task;
+    }
+}
@@ -0,0 +1,95 @@
+package gg.phast.helios.scheduling.internal;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of abstract Helios Task for delayed and repeating tasks of priority queue, platform timer
+ * only enqueues the runs, so the task is cancelled through the timer and remembers whether its run is waiting
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class PriorityHeliosTask extends HeliosTask {
+
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private final Consumer<HeliosTask> cancelListener;
+    private volatile HeliosTask timer;
+
+    /**
+     * Constructor
+     * @param eventHandler event handler used for triggering cancel
+     * @param cancelListener called once the task is cancelled (e.g. to stop tracking it)
+     * @since 1.0-SNAPSHOT
+     */
+    private PriorityHeliosTask(TaskEventHandler eventHandler, @NotNull Consumer<HeliosTask> cancelListener) {
+        super(eventHandler);
+        this.cancelListener = cancelListener;
+    }
+
+    /**
+     * Binds platform timer to this task, for internal API use
+     * @param timer timer
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public void bind(@NotNull HeliosTask timer) {
+        this.timer = timer;
+
+        // task might have been cancelled before the timer was bound
+        if (isCancelled() && !timer.isDone()) {
+            timer.cancel();
+        }
+    }
+
+    /**
+     * Marks run of the task as waiting in the queue, for internal API use
+     * @return whether the run was marked, false if previous run is still waiting
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public boolean markQueued() {
+        return queued.compareAndSet(false, true);
+    }
+
+    /**
+     * Marks run of the task as taken out of the queue, for internal API use
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public void markDequeued() {
+        queued.set(false);
+    }
+
+    /**
+     * Cancels platform timer, waiting run is skipped by the queue on its own
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void cancelPlatformTask() {
+        HeliosTask timer = this.timer;
+        if (timer != null && !timer.isDone()) {
+            timer.cancel();
+        }
+        cancelListener.accept(this);
+    }
+
+    /**
+     * Creates new Priority Helios Task instance, not suited for outside use
+     * @param eventHandler event handler
+     * @param cancelListener called once the task is cancelled
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_, _ -> new")
+    @ApiStatus.Internal
+    public static @NotNull PriorityHeliosTask create(TaskEventHandler eventHandler, @NotNull Consumer<HeliosTask> cancelListener) {
+        return new PriorityHeliosTask(eventHandler, cancelListener);
+    }
+}
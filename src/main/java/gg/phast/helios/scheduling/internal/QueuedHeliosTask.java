@@ -0,0 +1,46 @@
+package gg.phast.helios.scheduling.internal;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Implementation of abstract Helios Task without platform task of its own, used for tasks waiting in a queue
+ * which is drained by a shared platform task, cancelled task stays in the queue and is skipped once it is reached
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class QueuedHeliosTask extends HeliosTask {
+
+    /**
+     * Constructor
+     * @param eventHandler event handler used for triggering cancel
+     * @since 1.0-SNAPSHOT
+     */
+    private QueuedHeliosTask(TaskEventHandler eventHandler) {
+        super(eventHandler);
+    }
+
+    /**
+     * Nothing to cancel, the queue skips cancelled task on its own
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void cancelPlatformTask() {
+    }
+
+    /**
+     * Creates new Queued Helios Task instance, not suited for outside use
+     * @param eventHandler event handler
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_ -> new")
+    @ApiStatus.Internal
+    public static @NotNull QueuedHeliosTask create(TaskEventHandler eventHandler) {
+        return new QueuedHeliosTask(eventHandler);
+    }
+}
@@ -0,0 +1,276 @@
+package gg.phast.helios.scheduling.internal;
+
+import gg.phast.helios.Helios;
+import gg.phast.helios.HeliosPlatform;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+/**
+ * Hierarchical timing wheel which multiplexes any amount of tick based timers
+ * onto a single repeating global region task (main thread task on plain Bukkit). Scheduling and cancelling are O(1),
+ * and every tick only touches the timers which are due (plus an amortized cascade
+ * of the higher levels), so idle timers do not add any per-tick cost.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #WHEEL_SIZE} slots each, level {@code n}
+ * covers timers which are due in less than {@code 64^(n+1)} ticks. Timers further away
+ * than that are parked at the far end of the highest level and re-evaluated once it cascades.
+ * <p>
+ * Timers can be added and cancelled from any thread, the changes are handed over to the
+ * ticking thread through lock-free queues and applied at the start of the next tick.
+ * <p>
+ * The driving task is owned by the plugin which added the first timer, once that plugin is disabled,
+ * the next added timer re-arms the driving task under its own plugin.
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@ApiStatus.Internal
+public final class TimingWheel {
+
+    private final static int WHEEL_BITS = 6;
+    private final static int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private final static int WHEEL_MASK = WHEEL_SIZE - 1;
+    private final static int LEVELS = 4;
+    private final static long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+    private final Bucket[][] buckets = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Queue<WheelHeliosTask> pendingTimers = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelHeliosTask> cancelledTimers = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Plugin> driver = new AtomicReference<>();
+    private long currentTick;
+
+    /**
+     * Constructor
+     * @since 1.0-SNAPSHOT
+     */
+    public TimingWheel() {
+        for (Bucket[] level : buckets) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Adds timer to the wheel, it will be placed into its slot at the start of the next tick,
+     * if the wheel is not being driven yet (or its driving task belongs to plugin which was disabled meanwhile),
+     * the driving task is scheduled for the plugin
+     * @param plugin plugin owning the driving task
+     * @param timer timer
+     * @since 1.0-SNAPSHOT
+     */
+    void add(@NotNull Plugin plugin, @NotNull WheelHeliosTask timer) {
+        pendingTimers.add(timer);
+
+        Plugin owner = driver.get();
+        if (owner != null && owner.isEnabled()) return;
+        if (!driver.compareAndSet(owner, plugin)) return;
+
+        try {
+            if (HeliosPlatform.current() == HeliosPlatform.BUKKIT) {
+                Bukkit.getScheduler().runTaskTimer(plugin, () -> drive(plugin), 1L, 1L);
+            }
+            else {
+                Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, task -> drive(plugin), 1L, 1L);
+            }
+        } catch (RuntimeException exception) {
+            // the wheel is not driven, next added timer has to try again
+            driver.compareAndSet(plugin, null);
+            throw exception;
+        }
+    }
+
+    /**
+     * Ticks the wheel on behalf of the driving task, driving task which was replaced does nothing
+     * @param plugin plugin owning the driving task
+     * @since 1.0-SNAPSHOT
+     */
+    private void drive(@NotNull Plugin plugin) {
+        // the old driver could still be alive for a moment while its plugin is being disabled
+        synchronized (this) {
+            if (driver.get() != plugin) return;
+            tick();
+        }
+    }
+
+    /**
+     * Marks timer for removal from the wheel, it is unlinked at the start of the next tick
+     * @param timer timer
+     * @since 1.0-SNAPSHOT
+     */
+    void remove(@NotNull WheelHeliosTask timer) {
+        cancelledTimers.add(timer);
+    }
+
+    /**
+     * Advances the wheel by one tick and runs every timer which is due
+     * @since 1.0-SNAPSHOT
+     */
+    private void tick() {
+        WheelHeliosTask timer;
+        while ((timer = cancelledTimers.poll()) != null) {
+            unlink(timer);
+        }
+
+        while ((timer = pendingTimers.poll()) != null) {
+            if (timer.isCancelled()) continue;
+
+            // delay 0 is treated as "next tick", same as bukkit does
+            timer.deadline = currentTick + Math.max(timer.delay, 1L);
+            insert(timer);
+        }
+
+        long tick = ++currentTick;
+
+        // cascade from the highest level down, so that timers cascaded from level n
+        // can be cascaded further from level n - 1 during the same tick
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                cascade(buckets[level][(int) ((tick >>> shift) & WHEEL_MASK)]);
+            }
+        }
+
+        Bucket bucket = buckets[0][(int) (tick & WHEEL_MASK)];
+        timer = bucket.detach();
+        while (timer != null) {
+            WheelHeliosTask next = timer.next;
+            timer.next = null;
+            timer.prev = null;
+            timer.bucket = null;
+
+            if (timer.isCancelled()) {
+                timer = next;
+                continue;
+            }
+
+            if (timer.deadline > tick) {
+                // parked timer which was too far away when inserted
+                insert(timer);
+                timer = next;
+                continue;
+            }
+
+            try {
+                timer.run();
+            } catch (Throwable throwable) {
+                // rest of the detached slot would be lost otherwise
+                Helios.getLogger().log(Level.SEVERE, "Caught error while running timer of timing wheel!", throwable);
+            }
+
+            if (timer.period > 0 && !timer.isCancelled()) {
+                timer.deadline = tick + timer.period;
+                insert(timer);
+            }
+
+            timer = next;
+        }
+    }
+
+    /**
+     * Re-inserts every timer of bucket, placing it onto lower level
+     * @param bucket bucket
+     * @since 1.0-SNAPSHOT
+     */
+    private void cascade(@NotNull Bucket bucket) {
+        WheelHeliosTask timer = bucket.detach();
+        while (timer != null) {
+            WheelHeliosTask next = timer.next;
+            timer.next = null;
+            timer.prev = null;
+            timer.bucket = null;
+
+            if (!timer.isCancelled()) {
+                insert(timer);
+            }
+
+            timer = next;
+        }
+    }
+
+    /**
+     * Inserts timer into the slot matching its deadline
+     * @param timer timer
+     * @since 1.0-SNAPSHOT
+     */
+    private void insert(@NotNull WheelHeliosTask timer) {
+        long deadline = Math.min(timer.deadline, currentTick + MAX_SPAN - 1);
+        long remaining = deadline - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && remaining >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+
+        buckets[level][(int) ((deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK)].link(timer);
+    }
+
+    /**
+     * Removes timer from the bucket it is currently linked in, if any
+     * @param timer timer
+     * @since 1.0-SNAPSHOT
+     */
+    private void unlink(@NotNull WheelHeliosTask timer) {
+        Bucket bucket = timer.bucket;
+        if (bucket == null) return;
+
+        if (timer.prev == null) {
+            bucket.head = timer.next;
+        }
+        else {
+            timer.prev.next = timer.next;
+        }
+
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+
+        timer.next = null;
+        timer.prev = null;
+        timer.bucket = null;
+    }
+
+    /**
+     * Intrusive doubly linked list of timers sharing single slot
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    static final class Bucket {
+
+        private WheelHeliosTask head;
+
+        /**
+         * Links timer as the new head of this bucket
+         * @param timer timer
+         * @since 1.0-SNAPSHOT
+         */
+        void link(@NotNull WheelHeliosTask timer) {
+            timer.bucket = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        /**
+         * Detaches and returns whole list of timers, leaving this bucket empty
+         * @return first timer or null if bucket is empty
+         * @since 1.0-SNAPSHOT
+         */
+        WheelHeliosTask detach() {
+            WheelHeliosTask timer = head;
+            head = null;
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package gg.phast.helios.scheduling.internal;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Virtual thread implementation of abstract Helios Task, every run is executed on a new virtual thread,
+ * delays and periods are driven by {@link HeliosTimer}. Runs of repeating task never overlap,
+ * next run is planned when the previous one finishes (at fixed rate, if it is late it runs immediately)
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class VirtualHeliosTask extends HeliosTask {
+
+    private final static ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("Helios-Virtual-", 0L).factory()
+    );
+
+    private final Consumer<HeliosTask> consumer;
+    private final long periodNanos;
+    private volatile Future<?> future;
+    private long nextRunNanos;
+
+    /**
+     * Constructor
+     * @param eventHandler event handler used for triggering cancel
+     * @since 1.0-SNAPSHOT
+     */
+    private VirtualHeliosTask(TaskEventHandler eventHandler, Consumer<HeliosTask> consumer, long periodNanos) {
+        super(eventHandler);
+        this.consumer = consumer;
+        this.periodNanos = periodNanos;
+    }
+
+    /**
+     * Plans next run of this task on the timer
+     * @param delayNanos delay in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    private void plan(long delayNanos) {
+        nextRunNanos = System.nanoTime() + delayNanos;
+        future = delayNanos <= 0L
+                ? EXECUTOR.submit(this::run)
+                : HeliosTimer.schedule(() -> future = EXECUTOR.submit(this::run), delayNanos, TimeUnit.NANOSECONDS);
+
+        // cancel could have raced with planning, make sure the new future does not run
+        if (isCancelled()) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Runs the consumer on the current virtual thread and plans the next run of repeating task
+     * @since 1.0-SNAPSHOT
+     */
+    private void run() {
+        try {
+            consumer.accept(this);
+        } finally {
+            // error passing through the consumer must not stop repeating task silently
+            if (periodNanos > 0L && !isCancelled()) {
+                plan(nextRunNanos + periodNanos - System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Cancels the planned run, run which is already in progress is not interrupted
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void cancelPlatformTask() {
+        Future<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Creates new Virtual Helios Task instance and plans its first run, not suited for outside use
+     * @param eventHandler event handler
+     * @param consumer consumer called on virtual thread
+     * @param delayNanos delay in nanoseconds
+     * @param periodNanos period in nanoseconds, or -1 if task is not repeating
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_, _, _, _ -> new")
+    @ApiStatus.Internal
+    public static @NotNull HeliosTask schedule(TaskEventHandler eventHandler, Consumer<HeliosTask> consumer, long delayNanos, long periodNanos) {
+        VirtualHeliosTask task = new VirtualHeliosTask(eventHandler, consumer, periodNanos);
+        task.plan(delayNanos);
+        return task;
+    }
+}
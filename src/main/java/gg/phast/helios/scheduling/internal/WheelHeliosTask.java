@@ -0,0 +1,79 @@
+package gg.phast.helios.scheduling.internal;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel implementation of abstract Helios Task, which is created to work with {@link TimingWheel} timers
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class WheelHeliosTask extends HeliosTask {
+
+    private final TimingWheel wheel;
+    private final Consumer<HeliosTask> consumer;
+
+    // wheel state, only accessed from the thread driving the wheel
+    final long delay;
+    final long period;
+    long deadline;
+    TimingWheel.Bucket bucket;
+    WheelHeliosTask next;
+    WheelHeliosTask prev;
+
+    /**
+     * Constructor
+     * @param eventHandler event handler used for triggering cancel
+     * @since 1.0-SNAPSHOT
+     */
+    private WheelHeliosTask(TaskEventHandler eventHandler, TimingWheel wheel, Consumer<HeliosTask> consumer, long delay, long period) {
+        super(eventHandler);
+        this.wheel = wheel;
+        this.consumer = consumer;
+        this.delay = delay;
+        this.period = period;
+    }
+
+    /**
+     * Runs the consumer of this task
+     * @since 1.0-SNAPSHOT
+     */
+    void run() {
+        consumer.accept(this);
+    }
+
+    /**
+     * Hands the task over to the wheel for removal
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    protected void cancelPlatformTask() {
+        wheel.remove(this);
+    }
+
+    /**
+     * Creates new Wheel Helios Task instance and adds it to the wheel, not suited for outside use
+     * @param plugin plugin owning the task driving the wheel
+     * @param wheel wheel
+     * @param eventHandler event handler
+     * @param consumer consumer called whenever timer is due
+     * @param delay delay in ticks
+     * @param period period in ticks, or -1 if task is not repeating
+     * @return helios task
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_, _, _, _, _, _ -> new")
+    @ApiStatus.Internal
+    public static @NotNull HeliosTask schedule(Plugin plugin, TimingWheel wheel, TaskEventHandler eventHandler, Consumer<HeliosTask> consumer, long delay, long period) {
+        WheelHeliosTask task = new WheelHeliosTask(eventHandler, wheel, consumer, delay, period);
+        wheel.add(plugin, task);
+        return task;
+    }
+}
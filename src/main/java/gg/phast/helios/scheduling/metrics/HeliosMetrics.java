@@ -0,0 +1,103 @@
+package gg.phast.helios.scheduling.metrics;
+
+import gg.phast.helios.scheduling.builders.TaskScheduler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in execution metrics of helios tasks, grouped by name given
+ * via {@link TaskScheduler#name(String)} (tasks without name are grouped as {@value #UNNAMED}).
+ * <p>
+ * Metrics are disabled by default, while disabled the only cost per run is a single volatile read
+ * and nothing is allocated. Enabling applies to tasks which were scheduled before as well.
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class HeliosMetrics {
+
+    /**
+     * Name of the group which tasks without name belong to
+     */
+    public final static String UNNAMED = "unnamed";
+
+    private final static Map<String, TaskMetrics> RECORDERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    /**
+     * Constructor
+     * @since 1.0-SNAPSHOT
+     */
+    private HeliosMetrics() {
+    }
+
+    /**
+     * Starts recording metrics of every task run
+     * @since 1.0-SNAPSHOT
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops recording metrics, already recorded values are kept
+     * @since 1.0-SNAPSHOT
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns whether metrics are being recorded
+     * @return whether metrics are enabled
+     * @since 1.0-SNAPSHOT
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets every recorded value back to zero
+     * @since 1.0-SNAPSHOT
+     */
+    public static void reset() {
+        RECORDERS.values().forEach(TaskMetrics::reset);
+    }
+
+    /**
+     * Takes snapshot of metrics of all task groups, sorted by total execution time (most expensive first)
+     * @return snapshot
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull HeliosMetricsSnapshot snapshot() {
+        List<TaskMetricsSnapshot> tasks = new ArrayList<>(RECORDERS.size());
+        for (TaskMetrics recorder : RECORDERS.values()) {
+            TaskMetricsSnapshot snapshot = recorder.snapshot();
+            if (snapshot.runs() > 0) {
+                tasks.add(snapshot);
+            }
+        }
+
+        tasks.sort(Comparator.comparingLong(TaskMetricsSnapshot::totalNanos).reversed());
+        return new HeliosMetricsSnapshot(System.currentTimeMillis(), List.copyOf(tasks));
+    }
+
+    /**
+     * Returns recorder of task group, for internal API use
+     * @param name name of task group, null for {@value #UNNAMED}
+     * @return recorder
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public static @NotNull TaskMetrics recorder(@Nullable String name) {
+        return RECORDERS.computeIfAbsent(name == null ? UNNAMED : name, TaskMetrics::new);
+    }
+}
@@ -0,0 +1,30 @@
+package gg.phast.helios.scheduling.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of metrics of all task groups, taken via {@link HeliosMetrics#snapshot()}
+ *
+ * @param takenAtMillis time the snapshot was taken at (epoch milliseconds)
+ * @param tasks metrics of task groups which ran at least once, sorted by total execution time (most expensive first)
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public record HeliosMetricsSnapshot(long takenAtMillis, @NotNull List<TaskMetricsSnapshot> tasks) {
+
+    /**
+     * Writes one line per task group into logger
+     * @param logger logger
+     * @since 1.0-SNAPSHOT
+     */
+    public void dump(@NotNull Logger logger) {
+        logger.log(Level.INFO, "Helios task metrics (" + tasks.size() + " groups):");
+        for (TaskMetricsSnapshot task : tasks) {
+            logger.log(Level.INFO, " - " + task);
+        }
+    }
+}
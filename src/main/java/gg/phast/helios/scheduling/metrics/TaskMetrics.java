@@ -0,0 +1,151 @@
+package gg.phast.helios.scheduling.metrics;
+
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorder of metrics of single task group, every method is thread safe and allocation free
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@ApiStatus.Internal
+public final class TaskMetrics {
+
+    /**
+     * Upper bounds (inclusive) of latency histogram buckets in nanoseconds,
+     * last bucket of the histogram holds every run longer than the last bound
+     */
+    public final static long[] HISTOGRAM_BOUNDS = {
+            TimeUnit.MICROSECONDS.toNanos(10L),
+            TimeUnit.MICROSECONDS.toNanos(50L),
+            TimeUnit.MICROSECONDS.toNanos(100L),
+            TimeUnit.MICROSECONDS.toNanos(500L),
+            TimeUnit.MILLISECONDS.toNanos(1L),
+            TimeUnit.MILLISECONDS.toNanos(5L),
+            TimeUnit.MILLISECONDS.toNanos(10L),
+            TimeUnit.MILLISECONDS.toNanos(50L)
+    };
+
+    private final String name;
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder overruns = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BOUNDS.length + 1);
+    private final LongAdder lagSamples = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param name name of task group
+     * @since 1.0-SNAPSHOT
+     */
+    TaskMetrics(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records single run of task
+     * @param nanos duration of the run in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public void recordRun(long nanos) {
+        runs.increment();
+        totalNanos.add(nanos);
+        updateMax(maxNanos, nanos);
+
+        // run longer than a tick overruns the whole tick
+        if (nanos > TaskSchedulerHandler.TICK_NANOS) {
+            overruns.increment();
+        }
+
+        int bucket = 0;
+        while (bucket < HISTOGRAM_BOUNDS.length && nanos > HISTOGRAM_BOUNDS[bucket]) {
+            bucket++;
+        }
+        histogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Records scheduling lag of single run, which is the difference between planned and actual start
+     * @param nanos lag in nanoseconds, negative values (run started early) are counted as zero
+     * @since 1.0-SNAPSHOT
+     */
+    public void recordLag(long nanos) {
+        long lag = Math.max(nanos, 0L);
+        lagSamples.increment();
+        totalLagNanos.add(lag);
+        updateMax(maxLagNanos, lag);
+    }
+
+    /**
+     * Returns name of task group
+     * @return name
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Takes snapshot of currently recorded values, values recorded concurrently may or may not be included
+     * @return snapshot
+     * @since 1.0-SNAPSHOT
+     */
+    @NotNull TaskMetricsSnapshot snapshot() {
+        long[] buckets = new long[histogram.length()];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = histogram.get(bucket);
+        }
+
+        return new TaskMetricsSnapshot(
+                name,
+                runs.sum(),
+                totalNanos.sum(),
+                maxNanos.get(),
+                overruns.sum(),
+                buckets,
+                lagSamples.sum(),
+                totalLagNanos.sum(),
+                maxLagNanos.get()
+        );
+    }
+
+    /**
+     * Sets every recorded value back to zero
+     * @since 1.0-SNAPSHOT
+     */
+    void reset() {
+        runs.reset();
+        totalNanos.reset();
+        maxNanos.set(0L);
+        overruns.reset();
+        for (int bucket = 0; bucket < histogram.length(); bucket++) {
+            histogram.set(bucket, 0L);
+        }
+        lagSamples.reset();
+        totalLagNanos.reset();
+        maxLagNanos.set(0L);
+    }
+
+    /**
+     * Raises maximum to the value if it is greater
+     * @param max maximum
+     * @param value value
+     * @since 1.0-SNAPSHOT
+     */
+    private static void updateMax(@NotNull AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            Thread.onSpinWait();
+        }
+    }
+}
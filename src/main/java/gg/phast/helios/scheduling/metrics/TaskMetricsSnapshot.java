@@ -0,0 +1,84 @@
+package gg.phast.helios.scheduling.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of metrics of single task group
+ *
+ * @param name name of task group
+ * @param runs amount of runs
+ * @param totalNanos time spent running in nanoseconds
+ * @param maxNanos longest run in nanoseconds
+ * @param overruns amount of runs which took longer than a whole tick
+ * @param histogram amount of runs per latency bucket, bounds are {@link TaskMetrics#HISTOGRAM_BOUNDS}
+ * @param lagSamples amount of runs with recorded scheduling lag
+ * @param totalLagNanos sum of scheduling lag in nanoseconds
+ * @param maxLagNanos highest scheduling lag in nanoseconds
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public record TaskMetricsSnapshot(@NotNull String name, long runs, long totalNanos, long maxNanos, long overruns,
+                                  long @NotNull [] histogram, long lagSamples, long totalLagNanos, long maxLagNanos) {
+
+    /**
+     * Constructor
+     * @since 1.0-SNAPSHOT
+     */
+    public TaskMetricsSnapshot {
+        histogram = histogram.clone();
+    }
+
+    /**
+     * Returns amount of runs per latency bucket
+     * @return copy of histogram
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public long @NotNull [] histogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Returns average duration of single run
+     * @return average run in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public long averageNanos() {
+        return runs == 0 ? 0L : totalNanos / runs;
+    }
+
+    /**
+     * Returns average scheduling lag
+     * @return average lag in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public long averageLagNanos() {
+        return lagSamples == 0 ? 0L : totalLagNanos / lagSamples;
+    }
+
+    /**
+     * Returns single line summary of this group
+     * @return summary
+     * @since 1.0-SNAPSHOT
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format(
+                "%s: runs=%d, total=%.2fms, avg=%.3fms, max=%.3fms, overruns=%d, avgLag=%.3fms, maxLag=%.3fms",
+                name, runs, millis(totalNanos), millis(averageNanos()), millis(maxNanos),
+                overruns, millis(averageLagNanos()), millis(maxLagNanos)
+        );
+    }
+
+    /**
+     * Converts nanoseconds to fractional milliseconds
+     * @param nanos nanoseconds
+     * @return milliseconds
+     * @since 1.0-SNAPSHOT
+     */
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+}
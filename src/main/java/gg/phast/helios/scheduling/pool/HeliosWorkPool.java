@@ -0,0 +1,363 @@
+package gg.phast.helios.scheduling.pool;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.handler.WorkPoolSchedulerHandler;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Helios owned work-stealing pool for async tasks, backed by {@link ForkJoinPool} with bounded parallelism
+ * and bounded amount of runs waiting to be picked up, so piling up async jobs is visible and limited
+ * instead of growing without bounds. Tasks are scheduled through {@link TaskSchedulerHandler.Type#WORK_POOL}
+ * and go through the same lifecycle (and {@link gg.phast.helios.scheduling.eventhandler.TaskEventType}s) as other tasks.
+ * <p>
+ * Runs submitted from within the pool go to the worker's own queue and idle workers steal them,
+ * delays and periods are driven by the shared Helios timer. To create new pool, use {@link #builder()}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class HeliosWorkPool {
+
+    private final static AtomicInteger POOL_IDS = new AtomicInteger();
+
+    private final String name;
+    private final ForkJoinPool pool;
+    private final Semaphore capacity;
+    private final int queueCapacity;
+    private final RejectionPolicy rejectionPolicy;
+    private final TaskSchedulerHandler handler;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor, to create new pool, use builder {@link #builder()}
+     * @param name name of the pool, used for naming its threads
+     * @param parallelism amount of worker threads
+     * @param queueCapacity max amount of runs waiting to be picked up
+     * @param rejectionPolicy rejection policy
+     * @since 1.0-SNAPSHOT
+     */
+    protected HeliosWorkPool(@NotNull String name, int parallelism, int queueCapacity, @NotNull RejectionPolicy rejectionPolicy) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.capacity = new Semaphore(queueCapacity);
+        this.rejectionPolicy = rejectionPolicy;
+        this.handler = new WorkPoolSchedulerHandler(this);
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("Helios-" + name + "-" + threadIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+    }
+
+    /**
+     * Submits run on behalf of the scheduling caller, applying the rejection policy once the queue is full,
+     * for internal API use
+     * @param work run
+     * @return whether the run was queued (or run by caller), false if it was discarded
+     * @throws RejectedExecutionException if the run was rejected
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public boolean submit(@NotNull Runnable work) {
+        if (offer(work)) return true;
+
+        switch (rejectionPolicy) {
+            case DISCARD -> {
+                return false;
+            }
+            case CALLER_RUNS -> {
+                work.run();
+                return true;
+            }
+            case BLOCK -> {
+                if (!isStallingThread()) {
+                    try {
+                        capacity.acquire();
+                        dispatch(work);
+                        return true;
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        throw new RejectedExecutionException("Work pool " + name + " is full!");
+    }
+
+    /**
+     * Submits run if there is room in the queue, for internal API use
+     * @param work run
+     * @return whether the run was queued, false if the queue is full
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public boolean offer(@NotNull Runnable work) {
+        Preconditions.checkState(!pool.isShutdown(), "pool is already shut down");
+
+        if (!capacity.tryAcquire()) {
+            rejected.increment();
+            return false;
+        }
+
+        dispatch(work);
+        return true;
+    }
+
+    /**
+     * Hands run with acquired permit over to the pool
+     * @param work run
+     * @since 1.0-SNAPSHOT
+     */
+    private void dispatch(@NotNull Runnable work) {
+        queued.incrementAndGet();
+
+        try {
+            pool.execute(() -> {
+                capacity.release();
+                queued.decrementAndGet();
+                active.incrementAndGet();
+
+                try {
+                    work.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            capacity.release();
+            queued.decrementAndGet();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns whether blocking current thread could stall the pool (or the server) forever
+     * @return whether current thread is server thread or worker of this pool
+     * @since 1.0-SNAPSHOT
+     */
+    private boolean isStallingThread() {
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == pool) {
+            return true;
+        }
+
+        return Bukkit.getServer() != null && Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Stops accepting new runs, runs which are already queued are still executed,
+     * delayed and repeating tasks are cancelled once their timer fires
+     * @since 1.0-SNAPSHOT
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Returns whether the pool was shut down
+     * @return whether pool is shut down
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    /**
+     * Returns scheduler handler running tasks in this pool, for internal API use
+     * @return scheduler handler
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public @NotNull TaskSchedulerHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Returns name of the pool
+     * @return name
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Returns amount of worker threads
+     * @return parallelism
+     * @since 1.0-SNAPSHOT
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Returns max amount of runs waiting to be picked up
+     * @return queue capacity
+     * @since 1.0-SNAPSHOT
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Returns rejection policy
+     * @return rejection policy
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Returns amount of runs being executed right now
+     * @return active runs
+     * @since 1.0-SNAPSHOT
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Returns amount of runs waiting to be picked up by a worker
+     * @return queued runs
+     * @since 1.0-SNAPSHOT
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Returns amount of runs which were stolen from queue of another worker
+     * @return stolen runs (estimate)
+     * @since 1.0-SNAPSHOT
+     */
+    public long getStolenCount() {
+        return pool.getStealCount();
+    }
+
+    /**
+     * Returns amount of runs which were executed since the pool was created
+     * @return completed runs
+     * @since 1.0-SNAPSHOT
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns amount of runs which did not fit into the queue since the pool was created
+     * @return rejected runs
+     * @since 1.0-SNAPSHOT
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Creates new builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull HeliosWorkPool.Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder which helps us create the pool
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static class Builder {
+
+        private String name;
+        private int parallelism = Math.max(Runtime.getRuntime().availableProcessors() / 2, 1);
+        private int queueCapacity = 4096;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+        /**
+         * Constructor
+         * @since 1.0-SNAPSHOT
+         */
+        protected Builder() {
+        }
+
+        /**
+         * Sets up name of the pool, used for naming its threads
+         * @param name name (def: Pool-n)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder name(@NotNull String name) {
+            Objects.requireNonNull(name, "name");
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets up amount of worker threads
+         * @param parallelism parallelism (must be greater than 0, def: half of available processors)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder parallelism(int parallelism) {
+            Preconditions.checkArgument(parallelism > 0, "parallelism must be greater than 0");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets up max amount of runs waiting to be picked up
+         * @param queueCapacity queue capacity (must be greater than 0, def: 4096)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be greater than 0");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets up policy applied once the queue is full
+         * @param rejectionPolicy rejection policy (def: ABORT)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder rejectionPolicy(@NotNull RejectionPolicy rejectionPolicy) {
+            Objects.requireNonNull(rejectionPolicy, "rejectionPolicy");
+            this.rejectionPolicy = rejectionPolicy;
+            return this;
+        }
+
+        /**
+         * Creates new pool, its workers are started on demand
+         * @return new work pool
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull HeliosWorkPool build() {
+            String name = this.name != null ? this.name : "Pool-" + POOL_IDS.getAndIncrement();
+            return new HeliosWorkPool(name, parallelism, queueCapacity, rejectionPolicy);
+        }
+    }
+}
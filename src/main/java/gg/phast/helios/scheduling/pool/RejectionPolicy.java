@@ -0,0 +1,30 @@
+package gg.phast.helios.scheduling.pool;
+
+/**
+ * Policy of {@link HeliosWorkPool} which decides what happens to submission once the pool's queue is full.
+ * Policy only applies to runs submitted by scheduling, runs of delayed and repeating tasks
+ * fired by the timer can not be handed back, so repeating task skips the run and delayed task is cancelled
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Submission is rejected, scheduling throws {@link java.util.concurrent.RejectedExecutionException}
+     */
+    ABORT,
+    /**
+     * Submission is discarded, its task is cancelled
+     */
+    DISCARD,
+    /**
+     * Submission is run by the thread which scheduled it
+     */
+    CALLER_RUNS,
+    /**
+     * Caller is blocked until there is room in the queue, submissions made from the server thread
+     * or from the pool's own workers are rejected instead, since blocking them could stall the pool forever
+     */
+    BLOCK
+}
@@ -0,0 +1,25 @@
+package gg.phast.helios.scheduling.priority;
+
+/**
+ * Policy of priority class of {@link PriorityTaskQueue} which decides what happens
+ * to submission once the class is filled up to its capacity
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Submission is rejected, scheduling throws {@link java.util.concurrent.RejectedExecutionException}
+     */
+    REJECT,
+    /**
+     * Oldest waiting submission of the class is dropped (its task is cancelled) to make room for the new one
+     */
+    DROP_OLDEST,
+    /**
+     * Caller is blocked until there is room, submissions made from the server thread are rejected instead,
+     * since blocking it would never let the queue drain
+     */
+    BLOCK
+}
@@ -0,0 +1,532 @@
+package gg.phast.helios.scheduling.priority;
+
+import com.google.common.base.Preconditions;
+import gg.phast.helios.Helios;
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.settings.TaskScheduleContext;
+import gg.phast.helios.scheduling.eventhandler.TaskEventHandler;
+import gg.phast.helios.scheduling.handler.PriorityQueueSchedulerHandler;
+import gg.phast.helios.scheduling.handler.TaskSchedulerHandler;
+import gg.phast.helios.scheduling.internal.PriorityHeliosTask;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Server thread queue with priority classes, drained once per tick from {@link TaskPriority#CRITICAL}
+ * down to {@link TaskPriority#BACKGROUND}, so burst of low-value work never delays critical one.
+ * Every class has bounded depth and its own {@link OverflowPolicy}, time spent waiting in the queue is
+ * reported per class.
+ * <p>
+ * Critical work present when the drain starts is always drained completely, lower classes are drained only while
+ * the per tick budget lasts (unlimited by default) and the rest waits for the next tick, runs enqueued during the drain
+ * (e.g. by the drained tasks themselves) wait for the next tick as well. Tasks are submitted by scheduling them with context
+ * created through {@link TaskScheduleContext.Builder#priorityQueue(PriorityTaskQueue, TaskPriority)},
+ * delayed and repeating tasks are enqueued once their timer fires and repeating task never has more than one run waiting.
+ * To create new queue, use {@link #builder()}
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public class PriorityTaskQueue {
+
+    private final static TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final ClassQueue[] classes = new ClassQueue[PRIORITIES.length];
+    private final TaskSchedulerHandler[] handlers = new TaskSchedulerHandler[PRIORITIES.length];
+    private final TaskSchedulerHandler drainHandler;
+    private final long budgetNanos;
+    private final HeliosTask drainTask;
+    private final Set<HeliosTask> timedTasks = ConcurrentHashMap.newKeySet();
+
+    private volatile Thread drainThread;
+
+    /**
+     * Constructor, to create new queue, use builder {@link #builder()}
+     * @param capacities capacity of every class indexed by ordinal
+     * @param policies overflow policy of every class indexed by ordinal
+     * @param budgetNanos budget per tick for non-critical classes in nanoseconds
+     * @param context context which the queue is drained in
+     * @since 1.0-SNAPSHOT
+     */
+    protected PriorityTaskQueue(int @NotNull [] capacities, @NotNull OverflowPolicy @NotNull [] policies, long budgetNanos, @NotNull TaskScheduleContext context) {
+        for (TaskPriority priority : PRIORITIES) {
+            int index = priority.ordinal();
+            classes[index] = new ClassQueue(capacities[index], policies[index]);
+            handlers[index] = new PriorityQueueSchedulerHandler(this, priority);
+        }
+
+        this.budgetNanos = budgetNanos;
+        this.drainHandler = context.getSchedulerHandler();
+        this.drainTask = HeliosTask.repeatingTaskScheduler()
+                .delay(1L)
+                .period(1L)
+                .execute(task -> drain())
+                .schedule(context);
+    }
+
+    /**
+     * Enqueues run of the task, for internal API use
+     * @param priority priority class
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay in ticks, used for computing scheduling lag
+     * @param period period in ticks (-1 for non repeating task)
+     * @return whether the run was accepted, false if it was rejected by overflow policy
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public boolean enqueue(@NotNull TaskPriority priority, @NotNull HeliosTask task, @NotNull Consumer<HeliosTask> consumer, @NotNull TaskEventHandler eventHandler, long delay, long period) {
+        Preconditions.checkState(!isShutdown(), "queue is already shut down");
+
+        ClassQueue queue = classes[priority.ordinal()];
+        Entry entry = new Entry(task, consumer, eventHandler, delay, period, System.nanoTime());
+
+        if (queue.entries.offer(entry)) return true;
+
+        switch (queue.policy) {
+            case DROP_OLDEST -> {
+                do {
+                    Entry oldest = queue.entries.poll();
+                    if (oldest != null) {
+                        queue.dropped.increment();
+                        drop(oldest);
+                    }
+                } while (!queue.entries.offer(entry));
+                return true;
+            }
+            case BLOCK -> {
+                if (!isServerThread()) {
+                    try {
+                        queue.entries.put(entry);
+                        return true;
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        queue.rejected.increment();
+        return false;
+    }
+
+    /**
+     * Drains the queue, critical class completely and the rest until the budget is used up,
+     * every class is drained at most by the amount of runs it had when the drain started,
+     * so work which keeps enqueueing more work can not stall the tick
+     * @since 1.0-SNAPSHOT
+     */
+    private void drain() {
+        drainThread = Thread.currentThread();
+
+        int[] limits = new int[PRIORITIES.length];
+        for (int index = 0; index < limits.length; index++) {
+            limits[index] = classes[index].entries.size();
+        }
+
+        long start = System.nanoTime();
+        try {
+            for (TaskPriority priority : PRIORITIES) {
+                ClassQueue queue = classes[priority.ordinal()];
+                boolean budgeted = priority != TaskPriority.CRITICAL;
+                int remaining = limits[priority.ordinal()];
+
+                Entry entry;
+                while (remaining-- > 0 && (!budgeted || System.nanoTime() - start < budgetNanos) && (entry = queue.entries.poll()) != null) {
+                    if (entry.task instanceof PriorityHeliosTask priorityTask) {
+                        priorityTask.markDequeued();
+                    }
+
+                    // cancelled tasks stay in the queue until they are reached
+                    if (entry.task.isDone()) continue;
+
+                    queue.recordWait(System.nanoTime() - entry.enqueuedNanos);
+                    TaskSchedulerHandler.executeTask(entry.task, entry.consumer, entry.eventHandler, entry.delay, entry.period);
+
+                    if (entry.period <= 0) {
+                        timedTasks.remove(entry.task);
+                    }
+                }
+            }
+        } finally {
+            drainThread = null;
+        }
+    }
+
+    /**
+     * Tracks delayed or repeating task, whose timer enqueues its runs, so it can be cancelled on shutdown,
+     * for internal API use
+     * @param task task
+     * @return whether the task is tracked, false if the queue is already shut down
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public boolean track(@NotNull HeliosTask task) {
+        timedTasks.add(task);
+
+        // shutdown might have already gone through the tracked tasks
+        if (isShutdown()) {
+            timedTasks.remove(task);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking task which is done, for internal API use
+     * @param task task
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public void untrack(@NotNull HeliosTask task) {
+        timedTasks.remove(task);
+    }
+
+    /**
+     * Returns whether the queue was shut down
+     * @return whether queue is shut down
+     * @since 1.0-SNAPSHOT
+     */
+    public boolean isShutdown() {
+        return drainTask.isCancelled();
+    }
+
+    /**
+     * Drops waiting run, non repeating task is cancelled, repeating task only skips the run
+     * @param entry entry
+     * @since 1.0-SNAPSHOT
+     */
+    private void drop(@NotNull Entry entry) {
+        if (entry.task instanceof PriorityHeliosTask priorityTask) {
+            priorityTask.markDequeued();
+        }
+
+        if (entry.period <= 0) {
+            timedTasks.remove(entry.task);
+            if (!entry.task.isDone()) {
+                entry.task.cancel();
+            }
+        }
+    }
+
+    /**
+     * Returns whether current thread is the one draining the queue, blocking it would never let the queue drain
+     * @return whether current thread is server (or draining) thread
+     * @since 1.0-SNAPSHOT
+     */
+    private boolean isServerThread() {
+        return Thread.currentThread() == drainThread || (Bukkit.getServer() != null && Bukkit.isPrimaryThread());
+    }
+
+    /**
+     * Stops draining the queue, tasks waiting in the queue and delayed or repeating tasks whose timers
+     * would enqueue more runs are cancelled
+     * @since 1.0-SNAPSHOT
+     */
+    public void shutdown() {
+        if (!drainTask.isCancelled()) {
+            drainTask.cancel();
+        }
+
+        for (HeliosTask task : timedTasks) {
+            timedTasks.remove(task);
+            if (!task.isDone()) {
+                task.cancel();
+            }
+        }
+
+        for (ClassQueue queue : classes) {
+            Entry entry;
+            while ((entry = queue.entries.poll()) != null) {
+                if (!entry.task.isDone()) {
+                    entry.task.cancel();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns scheduler handler which enqueues tasks into priority class, for internal API use
+     * @param priority priority class
+     * @return scheduler handler
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public @NotNull TaskSchedulerHandler getHandler(@NotNull TaskPriority priority) {
+        Objects.requireNonNull(priority, "priority");
+        return handlers[priority.ordinal()];
+    }
+
+    /**
+     * Returns scheduler handler the queue is drained with, which timers of delayed and repeating tasks run on,
+     * for internal API use
+     * @return scheduler handler
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public @NotNull TaskSchedulerHandler getDrainHandler() {
+        return drainHandler;
+    }
+
+    /**
+     * Returns budget per tick of non-critical classes
+     * @return budget per tick in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Returns capacity of priority class
+     * @param priority priority class
+     * @return capacity
+     * @since 1.0-SNAPSHOT
+     */
+    public int getCapacity(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].capacity;
+    }
+
+    /**
+     * Returns overflow policy of priority class
+     * @param priority priority class
+     * @return overflow policy
+     * @since 1.0-SNAPSHOT
+     */
+    public @NotNull OverflowPolicy getOverflowPolicy(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].policy;
+    }
+
+    /**
+     * Returns amount of runs waiting in priority class
+     * @param priority priority class
+     * @return queue depth
+     * @since 1.0-SNAPSHOT
+     */
+    public int getQueueDepth(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].entries.size();
+    }
+
+    /**
+     * Returns amount of runs of priority class which were executed since the queue was created
+     * @param priority priority class
+     * @return total executed runs
+     * @since 1.0-SNAPSHOT
+     */
+    public long getExecutedRuns(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].executed.sum();
+    }
+
+    /**
+     * Returns amount of submissions of priority class which were rejected since the queue was created
+     * @param priority priority class
+     * @return total rejected submissions
+     * @since 1.0-SNAPSHOT
+     */
+    public long getRejectedRuns(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].rejected.sum();
+    }
+
+    /**
+     * Returns amount of waiting runs of priority class which were dropped to make room for newer ones
+     * @param priority priority class
+     * @return total dropped runs
+     * @since 1.0-SNAPSHOT
+     */
+    public long getDroppedRuns(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].dropped.sum();
+    }
+
+    /**
+     * Returns average time runs of priority class spent waiting in the queue
+     * @param priority priority class
+     * @return average wait time in nanoseconds, 0 if nothing was executed yet
+     * @since 1.0-SNAPSHOT
+     */
+    public long getAverageWaitNanos(@NotNull TaskPriority priority) {
+        ClassQueue queue = classes[priority.ordinal()];
+        long executed = queue.executed.sum();
+        return executed == 0L ? 0L : queue.totalWaitNanos.sum() / executed;
+    }
+
+    /**
+     * Returns the longest time run of priority class spent waiting in the queue
+     * @param priority priority class
+     * @return max wait time in nanoseconds
+     * @since 1.0-SNAPSHOT
+     */
+    public long getMaxWaitNanos(@NotNull TaskPriority priority) {
+        return classes[priority.ordinal()].maxWaitNanos;
+    }
+
+    /**
+     * Creates new builder
+     * @return new builder instance
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull PriorityTaskQueue.Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Waiting run of the task
+     * @param task task
+     * @param consumer consumer
+     * @param eventHandler event handler
+     * @param delay delay in ticks
+     * @param period period in ticks
+     * @param enqueuedNanos nano time the run was enqueued at
+     * @since 1.0-SNAPSHOT
+     */
+    private record Entry(HeliosTask task, Consumer<HeliosTask> consumer, TaskEventHandler eventHandler, long delay, long period, long enqueuedNanos) {
+    }
+
+    /**
+     * Bounded queue and statistics of single priority class
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    private final static class ClassQueue {
+
+        private final BlockingQueue<Entry> entries;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+
+        // written only by the draining thread
+        private volatile long maxWaitNanos;
+
+        /**
+         * Constructor
+         * @param capacity capacity
+         * @param policy overflow policy
+         * @since 1.0-SNAPSHOT
+         */
+        private ClassQueue(int capacity, @NotNull OverflowPolicy policy) {
+            this.entries = new ArrayBlockingQueue<>(capacity);
+            this.capacity = capacity;
+            this.policy = policy;
+        }
+
+        /**
+         * Records time run spent waiting
+         * @param waitNanos wait time in nanoseconds
+         * @since 1.0-SNAPSHOT
+         */
+        private void recordWait(long waitNanos) {
+            executed.increment();
+            totalWaitNanos.add(waitNanos);
+            if (waitNanos > maxWaitNanos) {
+                maxWaitNanos = waitNanos;
+            }
+        }
+    }
+
+    /**
+     * Builder which helps us create the queue
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    public static class Builder {
+
+        private final int[] capacities = new int[PRIORITIES.length];
+        private final OverflowPolicy[] policies = new OverflowPolicy[PRIORITIES.length];
+        private long budgetNanos = Long.MAX_VALUE;
+        private TaskSchedulerHandler.Type<Void> type = TaskSchedulerHandler.Type.SYNC;
+
+        /**
+         * Constructor
+         * @since 1.0-SNAPSHOT
+         */
+        protected Builder() {
+            Arrays.fill(capacities, 1024);
+            Arrays.fill(policies, OverflowPolicy.REJECT);
+        }
+
+        /**
+         * Sets up capacity of priority class
+         * @param priority priority class
+         * @param capacity capacity (must be greater than 0, def: 1024)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder capacity(@NotNull TaskPriority priority, int capacity) {
+            Objects.requireNonNull(priority, "priority");
+            Preconditions.checkArgument(capacity > 0, "capacity must be greater than 0");
+            this.capacities[priority.ordinal()] = capacity;
+            return this;
+        }
+
+        /**
+         * Sets up overflow policy of priority class
+         * @param priority priority class
+         * @param policy overflow policy (def: REJECT)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder overflowPolicy(@NotNull TaskPriority priority, @NotNull OverflowPolicy policy) {
+            Objects.requireNonNull(priority, "priority");
+            Objects.requireNonNull(policy, "policy");
+            this.policies[priority.ordinal()] = policy;
+            return this;
+        }
+
+        /**
+         * Sets up budget which non-critical classes can use every tick
+         * @param budget budget (must be greater than 0, def: unlimited)
+         * @param unit time unit of budget
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder budget(long budget, @NotNull TimeUnit unit) {
+            Objects.requireNonNull(unit, "unit");
+            Preconditions.checkArgument(budget > 0, "budget must be greater than 0");
+            this.budgetNanos = unit.toNanos(budget);
+            return this;
+        }
+
+        /**
+         * Sets up scheduler type which is the queue drained with
+         * @param type either {@link TaskSchedulerHandler.Type#SYNC} or {@link TaskSchedulerHandler.Type#GLOBAL_REGION} (def: SYNC)
+         * @return builder instance
+         * @since 1.0-SNAPSHOT
+         */
+        public Builder schedulerType(TaskSchedulerHandler.@NotNull Type<Void> type) {
+            Objects.requireNonNull(type, "type");
+            Preconditions.checkArgument(
+                    type == TaskSchedulerHandler.Type.SYNC || type == TaskSchedulerHandler.Type.GLOBAL_REGION,
+                    "type must be either sync or global_region"
+            );
+            this.type = type;
+            return this;
+        }
+
+        /**
+         * Creates new queue and starts draining it every tick
+         * @return new priority task queue
+         * @since 1.0-SNAPSHOT
+         */
+        public @NotNull PriorityTaskQueue build() {
+            return new PriorityTaskQueue(capacities.clone(), policies.clone(), budgetNanos, TaskScheduleContext.of(type));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package gg.phast.helios.scheduling.priority;
+
+/**
+ * Priority class of work, lower classes are shed (or postponed) first when the server is under load
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public enum TaskPriority {
+
+    /**
+     * Work which has to be done no matter the load (e.g. saving data, anticheat checks)
+     */
+    CRITICAL,
+    /**
+     * Regular gameplay work
+     */
+    NORMAL,
+    /**
+     * Housekeeping work which can wait (e.g. cleanups, statistics, cache refreshes)
+     */
+    BACKGROUND
+}
@@ -0,0 +1,142 @@
+package gg.phast.helios.scheduling.region;
+
+import gg.phast.helios.Helios;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+
+/**
+ * Batch of work of single plugin targeting single region, which is handed over to the region as a single submission
+ * owned by the plugin and runs all of its work during the next tick of the region. Work submitted by the same plugin
+ * for the same region before the batch starts running joins it instead of opening a new submission
+ * <p>
+ * Adding and draining is lock-free, work which comes after the batch started running
+ * is moved over to a fresh batch, so nothing is ever lost
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+@ApiStatus.Internal
+public final class RegionBatch {
+
+    private final static Map<Key, RegionBatch> OPEN_BATCHES = new ConcurrentHashMap<>();
+
+    private final Key key;
+    private final Queue<Runnable> work = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     * @param key plugin and region of the batch
+     * @since 1.0-SNAPSHOT
+     */
+    private RegionBatch(@NotNull Key key) {
+        this.key = key;
+    }
+
+    /**
+     * Adds work into the open batch of region, if there is none, new batch is opened
+     * and submitted to the region scheduler, for internal API use
+     * @param plugin plugin owning the work and the submission
+     * @param location location within region
+     * @param region region key of location
+     * @param runnable work
+     * @since 1.0-SNAPSHOT
+     */
+    public static void submit(@NotNull Plugin plugin, @NotNull Location location, @NotNull RegionKey region, @NotNull Runnable runnable) {
+        Key key = new Key(plugin, region);
+        while (true) {
+            RegionBatch batch = OPEN_BATCHES.get(key);
+            if (batch == null) {
+                RegionBatch created = new RegionBatch(key);
+                batch = OPEN_BATCHES.putIfAbsent(key, created);
+                if (batch == null) {
+                    created.work.add(runnable);
+                    try {
+                        Bukkit.getRegionScheduler().run(plugin, location, scheduled -> created.drain());
+                    } catch (RuntimeException exception) {
+                        // batch would never drain, work which joined it meanwhile is moved over to the next batch
+                        OPEN_BATCHES.remove(key, created);
+                        created.abandon(plugin, location, runnable);
+                        throw exception;
+                    }
+                    return;
+                }
+            }
+
+            if (batch.add(runnable)) return;
+        }
+    }
+
+    /**
+     * Adds work into this batch
+     * @param runnable work
+     * @return whether the work will be run by this batch, false if batch already started running
+     * @since 1.0-SNAPSHOT
+     */
+    private boolean add(@NotNull Runnable runnable) {
+        work.add(runnable);
+
+        // the batch might have closed meanwhile, work which it did not take yet has to go to the next batch
+        return !closed || !work.remove(runnable);
+    }
+
+    /**
+     * Closes the batch and runs all of its work, exception thrown by one unit of work does not affect others
+     * @since 1.0-SNAPSHOT
+     */
+    private void drain() {
+        OPEN_BATCHES.remove(key, this);
+        closed = true;
+
+        Runnable runnable;
+        while ((runnable = work.poll()) != null) {
+            try {
+                runnable.run();
+            } catch (Throwable throwable) {
+                // batch is already closed, work behind the failed one would be lost otherwise
+                Helios.getLogger().log(Level.SEVERE, "Caught exception while executing coalesced region task!", throwable);
+            }
+        }
+    }
+
+    /**
+     * Closes batch which could not be submitted, its own work is dropped (the submitter gets the exception),
+     * work which other threads added meanwhile is submitted again
+     * @param plugin plugin owning the batch
+     * @param location location within region
+     * @param own work of the submitter
+     * @since 1.0-SNAPSHOT
+     */
+    private void abandon(@NotNull Plugin plugin, @NotNull Location location, @NotNull Runnable own) {
+        closed = true;
+        work.remove(own);
+
+        Runnable runnable;
+        while ((runnable = work.poll()) != null) {
+            try {
+                submit(plugin, location, key.region(), runnable);
+            } catch (RuntimeException exception) {
+                Helios.getLogger().log(Level.SEVERE, "Could not submit coalesced region task!", exception);
+            }
+        }
+    }
+
+    /**
+     * Key of open batch, batches are never shared between plugins, so work of one plugin does not depend
+     * on submission of another plugin, which dies with that plugin
+     * @param plugin plugin
+     * @param region region
+     * @since 1.0-SNAPSHOT
+     */
+    private record Key(@NotNull Plugin plugin, @NotNull RegionKey region) {
+    }
+}
@@ -0,0 +1,55 @@
+package gg.phast.helios.scheduling.region;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Key of a square area of chunks within world, used for grouping tasks by the region they run in.
+ * Size of the area matches default region section of Folia ({@value #REGION_SHIFT} bits, 16x16 chunks),
+ * so locations sharing key are very likely ticked by the same region
+ *
+ * @param worldId unique id of world
+ * @param regionX x coordinate of region (chunk x shifted by {@value #REGION_SHIFT})
+ * @param regionZ z coordinate of region (chunk z shifted by {@value #REGION_SHIFT})
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public record RegionKey(@NotNull UUID worldId, int regionX, int regionZ) {
+
+    /**
+     * Amount of bits chunk coordinates are shifted by
+     */
+    public final static int REGION_SHIFT = 4;
+
+    /**
+     * Creates key of region containing location
+     * @param location location with world
+     * @return region key
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_ -> new")
+    public static @NotNull RegionKey of(@NotNull Location location) {
+        Objects.requireNonNull(location, "location");
+        World world = Objects.requireNonNull(location.getWorld(), "location world");
+        return ofChunk(world, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Creates key of region containing chunk
+     * @param world world
+     * @param chunkX chunk x coordinate
+     * @param chunkZ chunk z coordinate
+     * @return region key
+     * @since 1.0-SNAPSHOT
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull RegionKey ofChunk(@NotNull World world, int chunkX, int chunkZ) {
+        Objects.requireNonNull(world, "world");
+        return new RegionKey(world.getUID(), chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+    }
+}
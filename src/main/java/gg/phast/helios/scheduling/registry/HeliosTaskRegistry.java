@@ -0,0 +1,273 @@
+package gg.phast.helios.scheduling.registry;
+
+import gg.phast.helios.scheduling.HeliosTask;
+import gg.phast.helios.scheduling.builders.TaskScheduler;
+import gg.phast.helios.scheduling.region.RegionKey;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent registry of live tasks scheduled through task builders, indexed by unique id,
+ * by owner given via {@link TaskScheduler#owner(Object)}, by entity (entity scheduled tasks)
+ * and by {@link RegionKey} (region scheduled tasks).
+ * <p>
+ * Tasks are removed as soon as they finish, are cancelled or retired, so the registry only ever holds live tasks.
+ * Lookups and bulk cancels cost O(amount of matching tasks)
+ *
+ * @author phastgg
+ * @since 1.0-SNAPSHOT
+ */
+public final class HeliosTaskRegistry {
+
+    private final static Map<UUID, Entry> TASKS = new ConcurrentHashMap<>();
+    private final static Map<Object, Set<Entry>> BY_OWNER = new ConcurrentHashMap<>();
+    private final static Map<UUID, Set<Entry>> BY_ENTITY = new ConcurrentHashMap<>();
+    private final static Map<RegionKey, Set<Entry>> BY_REGION = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor, this class is not meant to be instantiated
+     * @since 1.0-SNAPSHOT
+     */
+    private HeliosTaskRegistry() {
+    }
+
+    /**
+     * Registers freshly scheduled task, for internal API use
+     * @param task task
+     * @param owner owner key, may be null
+     * @param entity entity the task runs on, may be null
+     * @param region region the task runs in, may be null
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public static void register(@NotNull HeliosTask task, @Nullable Object owner, @Nullable Entity entity, @Nullable RegionKey region) {
+        Entry entry = new Entry(task, owner, entity == null ? null : entity.getUniqueId(), region);
+
+        // secondary indexes are filled first, so removal which finds the entry by id always cleans them up
+        if (owner != null) index(BY_OWNER, owner, entry);
+        if (entry.entityId != null) index(BY_ENTITY, entry.entityId, entry);
+        if (region != null) index(BY_REGION, region, entry);
+        TASKS.put(task.getUniqueId(), entry);
+
+        // task might have ended before it was registered, in which case nobody else removes it
+        if (task.isDone()) {
+            unregister(task);
+        }
+    }
+
+    /**
+     * Removes task from the registry, called whenever task finishes, is cancelled or retired, for internal API use
+     * @param task task
+     * @since 1.0-SNAPSHOT
+     */
+    @ApiStatus.Internal
+    public static void unregister(@NotNull HeliosTask task) {
+        Entry entry = TASKS.remove(task.getUniqueId());
+        if (entry == null) return;
+
+        if (entry.owner != null) unindex(BY_OWNER, entry.owner, entry);
+        if (entry.entityId != null) unindex(BY_ENTITY, entry.entityId, entry);
+        if (entry.region != null) unindex(BY_REGION, entry.region, entry);
+    }
+
+    /**
+     * Returns live task with unique id
+     * @param uniqueId unique id of task
+     * @return task or null if there is no such live task
+     * @since 1.0-SNAPSHOT
+     */
+    public static @Nullable HeliosTask get(@NotNull UUID uniqueId) {
+        Objects.requireNonNull(uniqueId, "uniqueId");
+        Entry entry = TASKS.get(uniqueId);
+        return entry == null ? null : entry.task;
+    }
+
+    /**
+     * Returns live tasks of owner
+     * @param owner owner key
+     * @return snapshot of tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull List<HeliosTask> getByOwner(@NotNull Object owner) {
+        Objects.requireNonNull(owner, "owner");
+        return tasks(BY_OWNER.get(owner));
+    }
+
+    /**
+     * Returns live tasks running on entity
+     * @param entity entity
+     * @return snapshot of tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull List<HeliosTask> getByEntity(@NotNull Entity entity) {
+        Objects.requireNonNull(entity, "entity");
+        return tasks(BY_ENTITY.get(entity.getUniqueId()));
+    }
+
+    /**
+     * Returns live tasks running in region
+     * @param region region key
+     * @return snapshot of tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull List<HeliosTask> getByRegion(@NotNull RegionKey region) {
+        Objects.requireNonNull(region, "region");
+        return tasks(BY_REGION.get(region));
+    }
+
+    /**
+     * Returns live tasks running in region containing location
+     * @param location location
+     * @return snapshot of tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static @NotNull List<HeliosTask> getByRegion(@NotNull Location location) {
+        return getByRegion(RegionKey.of(location));
+    }
+
+    /**
+     * Cancels every live task of owner
+     * @param owner owner key
+     * @return amount of cancelled tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static int cancelAll(@NotNull Object owner) {
+        return cancel(getByOwner(owner));
+    }
+
+    /**
+     * Cancels every live task running on entity
+     * @param entity entity
+     * @return amount of cancelled tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static int cancelAllOf(@NotNull Entity entity) {
+        return cancel(getByEntity(entity));
+    }
+
+    /**
+     * Cancels every live task running in region
+     * @param region region key
+     * @return amount of cancelled tasks
+     * @since 1.0-SNAPSHOT
+     */
+    public static int cancelAllIn(@NotNull RegionKey region) {
+        return cancel(getByRegion(region));
+    }
+
+    /**
+     * Returns amount of live tasks
+     * @return size
+     * @since 1.0-SNAPSHOT
+     */
+    public static int size() {
+        return TASKS.size();
+    }
+
+    /**
+     * Adds entry into index under key, empty sets are never left behind
+     * @param index index
+     * @param key key
+     * @param entry entry
+     * @param <K> type of key
+     * @since 1.0-SNAPSHOT
+     */
+    private static <K> void index(@NotNull Map<K, Set<Entry>> index, @NotNull K key, @NotNull Entry entry) {
+        index.compute(key, (k, entries) -> {
+            if (entries == null) {
+                entries = ConcurrentHashMap.newKeySet();
+            }
+            entries.add(entry);
+            return entries;
+        });
+    }
+
+    /**
+     * Removes entry from index, dropping the key once it has no entries
+     * @param index index
+     * @param key key
+     * @param entry entry
+     * @param <K> type of key
+     * @since 1.0-SNAPSHOT
+     */
+    private static <K> void unindex(@NotNull Map<K, Set<Entry>> index, @NotNull K key, @NotNull Entry entry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /**
+     * Copies tasks of entries
+     * @param entries entries, may be null
+     * @return tasks
+     * @since 1.0-SNAPSHOT
+     */
+    private static @NotNull List<HeliosTask> tasks(@Nullable Collection<Entry> entries) {
+        if (entries == null) return List.of();
+
+        List<HeliosTask> tasks = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Cancels tasks which are still alive
+     * @param tasks tasks
+     * @return amount of cancelled tasks
+     * @since 1.0-SNAPSHOT
+     */
+    private static int cancel(@NotNull List<HeliosTask> tasks) {
+        int cancelled = 0;
+        for (HeliosTask task : tasks) {
+            if (!task.isDone()) {
+                task.cancel();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Registered task together with the keys it is indexed by
+     *
+     * @author phastgg
+     * @since 1.0-SNAPSHOT
+     */
+    private static final class Entry {
+
+        private final HeliosTask task;
+        private final Object owner;
+        private final UUID entityId;
+        private final RegionKey region;
+
+        /**
+         * Constructor
+         * @param task task
+         * @param owner owner key
+         * @param entityId unique id of entity
+         * @param region region key
+         * @since 1.0-SNAPSHOT
+         */
+        private Entry(@NotNull HeliosTask task, @Nullable Object owner, @Nullable UUID entityId, @Nullable RegionKey region) {
+            this.task = task;
+            this.owner = owner;
+            this.entityId = entityId;
+            this.region = region;
+        }
+    }
+}